@@ -0,0 +1,118 @@
+package com.oc.codingtest;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the PasswordStrength entry points across input lengths, charsets and worst-case shapes.
+ * Run with the gc profiler (the default in build.gradle) to get gc.alloc.rate.norm per call.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PasswordStrengthBenchmark {
+
+  enum Charset {
+    ASCII(0x21, 0x7e),
+    LATIN1(0xa1, 0xff),
+    CJK(0x4e00, 0x9fff),
+    EMOJI(0x1f600, 0x1f64f);
+
+    final int first;
+    final int last;
+
+    Charset(int first, int last) {
+      this.first = first;
+      this.last = last;
+    }
+  }
+
+  enum Shape {
+    // Code points drawn uniformly from the charset
+    RANDOM,
+    // One long ascending run through the charset, wrapping around at the end
+    SEQUENCE,
+    // The same code point over and over
+    SAME
+  }
+
+  /**
+   * The charset and shape combinations worth measuring, rather than every pairing. Emoji aren't countable, so their
+   * sequences score like random input, and one code point repeated takes the same counter path in any charset.
+   */
+  public enum Input {
+    ASCII_RANDOM(Charset.ASCII, Shape.RANDOM),
+    ASCII_SEQUENCE(Charset.ASCII, Shape.SEQUENCE),
+    ASCII_SAME(Charset.ASCII, Shape.SAME),
+    // Case folding beyond the ASCII table
+    LATIN1_RANDOM(Charset.LATIN1, Shape.RANDOM),
+    // The sparse repetition counter
+    CJK_RANDOM(Charset.CJK, Shape.RANDOM),
+    // Runs of ideographs, which are countable
+    CJK_SEQUENCE(Charset.CJK, Shape.SEQUENCE),
+    // Surrogate pairs
+    EMOJI_RANDOM(Charset.EMOJI, Shape.RANDOM);
+
+    final Charset charset;
+    final Shape shape;
+
+    Input(Charset charset, Shape shape) {
+      this.charset = charset;
+      this.shape = shape;
+    }
+  }
+
+  @Param({"8", "64", "1024", "65536"})
+  public int length;
+
+  @Param
+  public Input input;
+
+  private final PasswordStrength ps = new PasswordStrength();
+  private String password;
+
+  @Setup
+  public void setUp() {
+    SplittableRandom random = new SplittableRandom(42);
+    Charset charset = this.input.charset;
+    int range = charset.last - charset.first + 1;
+    int start = random.nextInt(range);
+
+    StringBuilder sb = new StringBuilder(this.length);
+    for (int i = 0; sb.length() < this.length; i++) {
+      int offset = switch (this.input.shape) {
+        case RANDOM -> random.nextInt(range);
+        case SEQUENCE -> (start + i) % range;
+        case SAME -> start;
+      };
+      sb.appendCodePoint(charset.first + offset);
+    }
+
+    // Supplementary code points take two chars, so trim back to exactly `length` chars
+    sb.setLength(this.length);
+    this.password = sb.toString();
+  }
+
+  @Benchmark
+  public int getMaxRepetitionCount() {
+    return this.ps.getMaxRepetitionCount(this.password);
+  }
+
+  @Benchmark
+  public int getMaxSequenceLen() {
+    return this.ps.getMaxSequenceLen(this.password);
+  }
+
+  // Typical policy limits, so non-random shapes are rejected early
+  @Benchmark
+  public boolean isPasswordPermissible() {
+    return this.ps.isPasswordPermissible(this.password, 3, 3);
+  }
+
+  // Limits that can never be exceeded, so every call scans the whole password
+  @Benchmark
+  public boolean isPasswordPermissibleFullScan() {
+    return this.ps.isPasswordPermissible(this.password, Integer.MAX_VALUE, Integer.MAX_VALUE);
+  }
+}
@@ -0,0 +1,273 @@
+package com.oc.codingtest;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Aho-Corasick automaton over a set of words, stored as a double-array trie.
+ * <p>
+ * Chars are lowercased with {@link CharFold#lower(char)}, the same as for sequences, and mapped to dense codes
+ * 1..n, with 0 for chars that appear in no word. The child of state s on code a is base[s] + a, valid only if
+ * check[base[s] + a] == s, so a transition is two array loads whatever the dictionary size. Missing transitions
+ * follow failure links, which keeps the whole scan O(length) amortised.
+ * <p>
+ * matches[s] is set if any word ends at s or at a state on its failure chain, ie: if some word is a suffix of the
+ * text read so far.
+ */
+final class AhoCorasick {
+
+  static final int ROOT = 0;
+
+  private static final int FREE = -1;
+  private static final int ASCII = 128;
+
+  // Free slots a node may reject before later nodes skip the ones it tried
+  private static final int MAX_REJECTED_SLOTS = 64;
+
+  private final int[] asciiCodes = new int[ASCII];
+  private final char[] alphabet;
+
+  private final int[] base;
+  private final int[] check;
+  private final int[] fail;
+  private final boolean[] matches;
+
+  AhoCorasick(Collection<? extends CharSequence> words) {
+    // Build a plain trie first, with children sorted by code
+    TreeSet<Character> chars = new TreeSet<>();
+    for (CharSequence word : words) {
+      if (word.length() == 0) {
+        throw new IllegalArgumentException("Words must not be empty");
+      }
+      for (int i = 0; i < word.length(); i++) {
+        chars.add(CharFold.lower(word.charAt(i)));
+      }
+    }
+    this.alphabet = new char[chars.size()];
+    int index = 0;
+    for (char c : chars) {
+      this.alphabet[index++] = c;
+      if (c < ASCII) {
+        this.asciiCodes[c] = index;
+      }
+    }
+
+    List<TreeMap<Integer, Integer>> children = new ArrayList<>();
+    List<Boolean> ends = new ArrayList<>();
+    children.add(new TreeMap<>());
+    ends.add(false);
+    for (CharSequence word : words) {
+      int node = 0;
+      for (int i = 0; i < word.length(); i++) {
+        int code = this.code(word.charAt(i));
+        Integer child = children.get(node).get(code);
+        if (child == null) {
+          child = children.size();
+          children.get(node).put(code, child);
+          children.add(new TreeMap<>());
+          ends.add(false);
+        }
+        node = child;
+      }
+      ends.set(node, true);
+    }
+
+    // Place the trie nodes in the double array, breadth first
+    Placement placement = new Placement(children.size() * 2);
+    int[] states = new int[children.size()];
+    ArrayDeque<Integer> queue = new ArrayDeque<>();
+    queue.add(0);
+    states[0] = ROOT;
+
+    while (!queue.isEmpty()) {
+      int node = queue.poll();
+      TreeMap<Integer, Integer> nodeChildren = children.get(node);
+      if (nodeChildren.isEmpty()) {
+        continue;
+      }
+
+      int b = placement.findBase(nodeChildren.keySet());
+      placement.base[states[node]] = b;
+      for (var child : nodeChildren.entrySet()) {
+        int childState = b + child.getKey();
+        placement.occupy(childState, states[node]);
+        states[child.getValue()] = childState;
+        queue.add(child.getValue());
+      }
+    }
+
+    this.base = Arrays.copyOf(placement.base, placement.used);
+    this.check = Arrays.copyOf(placement.check, placement.used);
+    this.fail = new int[placement.used];
+    this.matches = new boolean[placement.used];
+    for (int node = 0; node < children.size(); node++) {
+      this.matches[states[node]] = ends.get(node);
+    }
+
+    // Failure links, breadth first so every state's link is known before its children's
+    queue.add(0);
+    while (!queue.isEmpty()) {
+      int node = queue.poll();
+      int state = states[node];
+      for (var child : children.get(node).entrySet()) {
+        int code = child.getKey();
+        int childState = states[child.getValue()];
+
+        int target = ROOT;
+        if (state != ROOT) {
+          int f = this.fail[state];
+          while (this.child(f, code) == FREE && f != ROOT) {
+            f = this.fail[f];
+          }
+          target = this.child(f, code) == FREE ? ROOT : this.child(f, code);
+        }
+        this.fail[childState] = target;
+        this.matches[childState] |= this.matches[target];
+        queue.add(child.getValue());
+      }
+    }
+  }
+
+  /**
+   * @param state the current state, starting from {@link #ROOT}
+   * @param c the next char, lowercased here
+   * @return the state after reading c
+   */
+  int next(int state, char c) {
+    int code = this.code(c);
+    if (code == 0) {
+      return ROOT;
+    }
+
+    while (true) {
+      int child = this.child(state, code);
+      if (child != FREE) {
+        return child;
+      }
+      if (state == ROOT) {
+        return ROOT;
+      }
+      state = this.fail[state];
+    }
+  }
+
+  /**
+   * @param state
+   * @return true if some word ends at the last char read
+   */
+  boolean matches(int state) {
+    return this.matches[state];
+  }
+
+  /**
+   * @return the number of states, for sizing
+   */
+  int size() {
+    return this.base.length;
+  }
+
+  private int child(int state, int code) {
+    int child = this.base[state] + code;
+    return child < this.check.length && this.check[child] == state ? child : FREE;
+  }
+
+  /**
+   * The double array while it is being filled. Free slots are found with a union-find over "next free slot at or
+   * after i", so placing a node skips straight past the densely packed part of the array.
+   */
+  private static final class Placement {
+
+    int[] base;
+    int[] check;
+    int[] nextFree;
+    int used = 1;
+    int searchFrom = 1;
+
+    Placement(int capacity) {
+      capacity = Integer.max(16, capacity);
+      this.base = new int[capacity];
+      this.check = new int[capacity];
+      this.nextFree = new int[capacity];
+      Arrays.fill(this.check, FREE);
+      for (int i = 0; i < capacity; i++) {
+        this.nextFree[i] = i;
+      }
+      this.occupy(ROOT, ROOT);
+    }
+
+    /**
+     * @param codes the codes of a node's children, ascending
+     * @return the lowest base, at least 1, putting every child in a free slot
+     */
+    int findBase(Collection<Integer> codes) {
+      int firstCode = codes.iterator().next();
+      int slot = this.findFree(Integer.max(1 + firstCode, this.searchFrom));
+      int rejected = 0;
+      while (true) {
+        int b = slot - firstCode;
+        boolean fits = true;
+        for (int code : codes) {
+          this.ensureCapacity(b + code + 1);
+          if (this.check[b + code] != FREE) {
+            fits = false;
+            break;
+          }
+        }
+        if (fits) {
+          return b;
+        }
+        // A long run of rejected slots means the array is packed here, so later searches start past it
+        if (++rejected == MAX_REJECTED_SLOTS) {
+          this.searchFrom = slot;
+        }
+        slot = this.findFree(slot + 1);
+      }
+    }
+
+    void occupy(int slot, int parent) {
+      this.ensureCapacity(slot + 2);
+      this.check[slot] = parent;
+      this.nextFree[slot] = slot + 1;
+      this.used = Integer.max(this.used, slot + 1);
+    }
+
+    private int findFree(int slot) {
+      this.ensureCapacity(slot + 1);
+      while (this.nextFree[slot] != slot) {
+        this.nextFree[slot] = this.nextFree[this.nextFree[slot]];
+        slot = this.nextFree[slot];
+        this.ensureCapacity(slot + 1);
+      }
+      return slot;
+    }
+
+    private void ensureCapacity(int capacity) {
+      if (capacity <= this.check.length) {
+        return;
+      }
+      int oldCapacity = this.check.length;
+      int grown = Integer.max(oldCapacity * 2, capacity);
+      this.base = Arrays.copyOf(this.base, grown);
+      this.check = Arrays.copyOf(this.check, grown);
+      this.nextFree = Arrays.copyOf(this.nextFree, grown);
+      Arrays.fill(this.check, oldCapacity, grown, FREE);
+      for (int i = oldCapacity; i < grown; i++) {
+        this.nextFree[i] = i;
+      }
+    }
+  }
+
+  private int code(char c) {
+    char lower = CharFold.lower(c);
+    if (lower < ASCII) {
+      return this.asciiCodes[lower];
+    }
+    int index = Arrays.binarySearch(this.alphabet, lower);
+    return index >= 0 ? index + 1 : 0;
+  }
+}
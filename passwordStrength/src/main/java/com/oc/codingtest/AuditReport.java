@@ -0,0 +1,53 @@
+package com.oc.codingtest;
+
+import java.util.Arrays;
+
+/**
+ * Aggregate result of a {@link BulkPasswordAudit}.
+ * <p>
+ * The histograms are indexed by score: bucket n counts the lines whose repetition count (or max sequence length) is
+ * exactly n, except the last bucket which counts every line scoring at or above it.
+ */
+public final class AuditReport {
+
+  public static final int HISTOGRAM_BUCKETS = 64;
+
+  private final long lineCount;
+  private final long[] repetitionHistogram;
+  private final long[] sequenceHistogram;
+  private final long[] offendingLineOffsets;
+
+  AuditReport(long lineCount, long[] repetitionHistogram, long[] sequenceHistogram, long[] offendingLineOffsets) {
+    this.lineCount = lineCount;
+    this.repetitionHistogram = repetitionHistogram;
+    this.sequenceHistogram = sequenceHistogram;
+    this.offendingLineOffsets = offendingLineOffsets;
+  }
+
+  static int bucket(int score) {
+    return Integer.min(score, HISTOGRAM_BUCKETS - 1);
+  }
+
+  public long getLineCount() {
+    return this.lineCount;
+  }
+
+  public long getOffendingLineCount() {
+    return this.offendingLineOffsets.length;
+  }
+
+  public long[] getRepetitionHistogram() {
+    return Arrays.copyOf(this.repetitionHistogram, this.repetitionHistogram.length);
+  }
+
+  public long[] getSequenceHistogram() {
+    return Arrays.copyOf(this.sequenceHistogram, this.sequenceHistogram.length);
+  }
+
+  /**
+   * @return the byte offset of the start of every line that exceeded a limit, in file order
+   */
+  public long[] getOffendingLineOffsets() {
+    return Arrays.copyOf(this.offendingLineOffsets, this.offendingLineOffsets.length);
+  }
+}
@@ -0,0 +1,122 @@
+package com.oc.codingtest;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Built-in rule rejecting passwords that contain any of a list of banned words, eg: company and product names,
+ * anywhere inside them. Matching ignores case the same way sequences do, so "ACME" bans "myAcme1".
+ * <p>
+ * The words are compiled into an {@link AhoCorasick} automaton, so each char costs the same however many words
+ * there are, and the rule fails as soon as a banned word ends.
+ * <p>
+ * With a {@link LeetTable}, the automaton reads every candidate of each char, eg: "p@ssw0rd" contains "password".
+ * The set of live automaton states is deduplicated after every char and capped at {@link #MAX_LEET_STATES}; the
+ * literal reading is always tracked first, so the rule never accepts a password the plain rule would reject.
+ */
+public final class BannedSubstringRule implements PasswordRule<BannedSubstringRule.State> {
+
+  public static final int MAX_LEET_STATES = 16;
+
+  private final AhoCorasick automaton;
+  private final int wordCount;
+  private final LeetTable leet;
+
+  public BannedSubstringRule(String... words) {
+    this(List.of(words));
+  }
+
+  public BannedSubstringRule(Collection<? extends CharSequence> words) {
+    this(words, null);
+  }
+
+  /**
+   * @param words
+   * @param leet substitutions to read the password with, or null to match it literally
+   */
+  public BannedSubstringRule(Collection<? extends CharSequence> words, LeetTable leet) {
+    if (words.isEmpty()) {
+      throw new IllegalArgumentException("At least one banned word is needed");
+    }
+    this.automaton = new AhoCorasick(words);
+    this.wordCount = words.size();
+    this.leet = leet;
+  }
+
+  @Override
+  public State newState() {
+    return new State();
+  }
+
+  @Override
+  public void reset(State state) {
+    state.nodes[0] = AhoCorasick.ROOT;
+    state.count = 1;
+    state.matched = false;
+  }
+
+  @Override
+  public boolean accept(State state, char c) {
+    if (state.matched) {
+      return false;
+    }
+
+    if (this.leet == null) {
+      state.nodes[0] = this.automaton.next(state.nodes[0], c);
+      state.matched = this.automaton.matches(state.nodes[0]);
+      return !state.matched;
+    }
+
+    int candidateCount = this.leet.lowered(c, state.candidates);
+    int nextCount = 0;
+    for (int i = 0; i < state.count; i++) {
+      for (int j = 0; j < candidateCount; j++) {
+        int node = this.automaton.next(state.nodes[i], state.candidates[j]);
+        if (this.automaton.matches(node)) {
+          state.matched = true;
+          return false;
+        }
+        if (nextCount < MAX_LEET_STATES && indexOf(state.nextNodes, nextCount, node) < 0) {
+          state.nextNodes[nextCount++] = node;
+        }
+      }
+    }
+
+    int[] swap = state.nodes;
+    state.nodes = state.nextNodes;
+    state.nextNodes = swap;
+    state.count = nextCount;
+    return true;
+  }
+
+  @Override
+  public boolean finish(State state) {
+    return !state.matched;
+  }
+
+  @Override
+  public String toString() {
+    return "BannedSubstringRule{words=" + this.wordCount + ", states=" + this.automaton.size()
+        + ", leet=" + (this.leet != null) + "}";
+  }
+
+  private static int indexOf(int[] nodes, int length, int node) {
+    for (int i = 0; i < length; i++) {
+      if (nodes[i] == node) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Opaque per-scan state.
+   */
+  public static final class State {
+    int[] nodes = new int[MAX_LEET_STATES];
+    int[] nextNodes = new int[MAX_LEET_STATES];
+    int count = 1;
+    boolean matched;
+    final char[] candidates = new char[LeetTable.MAX_CANDIDATES];
+  }
+}
@@ -0,0 +1,39 @@
+package com.oc.codingtest;
+
+/**
+ * Scores for a batch of passwords, stored as parallel primitive arrays indexed like the input batch.
+ */
+public final class BatchResult {
+
+  private final int[] repetitionCounts;
+  private final int[] sequenceLengths;
+  private final boolean[] permissible;
+
+  BatchResult(int size) {
+    this.repetitionCounts = new int[size];
+    this.sequenceLengths = new int[size];
+    this.permissible = new boolean[size];
+  }
+
+  void set(int index, int repetitionCount, int sequenceLength, boolean isPermissible) {
+    this.repetitionCounts[index] = repetitionCount;
+    this.sequenceLengths[index] = sequenceLength;
+    this.permissible[index] = isPermissible;
+  }
+
+  public int size() {
+    return this.permissible.length;
+  }
+
+  public int getMaxRepetitionCount(int index) {
+    return this.repetitionCounts[index];
+  }
+
+  public int getMaxSequenceLen(int index) {
+    return this.sequenceLengths[index];
+  }
+
+  public boolean isPermissible(int index) {
+    return this.permissible[index];
+  }
+}
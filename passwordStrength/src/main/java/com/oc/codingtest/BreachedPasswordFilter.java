@@ -0,0 +1,203 @@
+package com.oc.codingtest;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A blocked Bloom filter over the fingerprints of a {@link BreachedPasswordIndex}, memory-mapped from a file
+ * written by {@link BreachedPasswordFilterWriter}. Put in front of the index with
+ * {@link BreachedPasswordIndex#withFilter(BreachedPasswordFilter)}, it answers "definitely not breached" for most
+ * passwords without touching the index.
+ * <p>
+ * The filter is an array of 64-byte blocks, the size of a cache line, and every fingerprint sets and tests all of
+ * its bits within the one block picked by its top 32 bits. So a lookup costs at most one cache miss, or one page
+ * fault if the filter isn't resident, rather than one per bit. Confining the bits to a block raises the false
+ * positive rate a little over a classic Bloom filter of the same size, which the writer allows for when sizing.
+ * <p>
+ * The file is a 64-byte header (magic, version, hash count, block count, entry count), so the blocks stay
+ * cache-line aligned in the mapping, followed by the blocks as little-endian longs. Thread-safe.
+ */
+public final class BreachedPasswordFilter {
+
+  static final int MAGIC = 0x50574246;
+  static final int VERSION = 1;
+  static final int HEADER_SIZE = 64;
+
+  static final int BLOCK_BITS = 512;
+  static final int BLOCK_LONGS = BLOCK_BITS / Long.SIZE;
+  static final int MAX_HASH_COUNT = 16;
+
+  // 2^24 blocks of 64 bytes is 1 GiB per mapping
+  static final int DEFAULT_SEGMENT_SHIFT = 24;
+
+  private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+  private final LongBuffer[] segments;
+  private final int segmentShift;
+  private final long blocks;
+  private final int hashCount;
+  private final long size;
+
+  private BreachedPasswordFilter(LongBuffer[] segments, int segmentShift, long blocks, int hashCount, long size) {
+    this.segments = segments;
+    this.segmentShift = segmentShift;
+    this.blocks = blocks;
+    this.hashCount = hashCount;
+    this.size = size;
+  }
+
+  public static BreachedPasswordFilter open(Path path) throws IOException {
+    return open(path, DEFAULT_SEGMENT_SHIFT);
+  }
+
+  /**
+   * @param path
+   * @param segmentShift log2 of the number of blocks mapped per segment
+   * @return the opened filter
+   * @throws IOException
+   */
+  static BreachedPasswordFilter open(Path path, int segmentShift) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+      while (header.hasRemaining()) {
+        if (channel.read(header, header.position()) < 0) {
+          throw new IOException("Not a breached password filter: " + path);
+        }
+      }
+      header.flip();
+      if (header.getInt() != MAGIC) {
+        throw new IOException("Not a breached password filter: " + path);
+      }
+      int version = header.getInt();
+      if (version != VERSION) {
+        throw new IOException("Unsupported breached password filter version " + version + ": " + path);
+      }
+      int hashCount = header.getInt();
+      header.getInt();
+      long blocks = header.getLong();
+      long size = header.getLong();
+      if (hashCount < 1 || hashCount > MAX_HASH_COUNT || blocks < 1 || blocks > Integer.MAX_VALUE || size < 0
+          || HEADER_SIZE + blocks * BLOCK_LONGS * Long.BYTES != channel.size()) {
+        throw new IOException("Breached password filter is truncated or corrupt: " + path);
+      }
+
+      LongBuffer[] segments = asLongBuffers(map(channel, FileChannel.MapMode.READ_ONLY, blocks, segmentShift));
+      return new BreachedPasswordFilter(segments, segmentShift, blocks, hashCount, size);
+    }
+  }
+
+  /**
+   * @param password
+   * @return false if the password is definitely not in the index, true if it may be
+   */
+  public boolean mightContain(CharSequence password) {
+    return this.mightContainFingerprint(Sha1Fingerprint.of(password));
+  }
+
+  /**
+   * @param fingerprint as in {@link BreachedPasswordIndex#containsFingerprint(long)}
+   * @return false if the fingerprint is definitely not in the index, true if it may be
+   */
+  public boolean mightContainFingerprint(long fingerprint) {
+    long block = block(fingerprint, this.blocks);
+    LongBuffer segment = this.segments[(int) (block >>> this.segmentShift)];
+    int base = (int) (block & ((1L << this.segmentShift) - 1)) * BLOCK_LONGS;
+
+    for (int i = 0; i < this.hashCount; i++) {
+      int bit = bit(fingerprint, i);
+      if ((segment.get(base + (bit >>> 6)) & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @return the number of fingerprints the filter was built from
+   */
+  public long size() {
+    return this.size;
+  }
+
+  /**
+   * @return the size of the filter's blocks in bytes
+   */
+  public long memorySize() {
+    return this.blocks * BLOCK_LONGS * Long.BYTES;
+  }
+
+  public int hashCount() {
+    return this.hashCount;
+  }
+
+  /**
+   * @return the chance that a fingerprint not in the index passes the filter
+   */
+  public double expectedFalsePositiveRate() {
+    return falsePositiveRate((double) this.size / this.blocks, this.hashCount);
+  }
+
+  static MappedByteBuffer[] map(FileChannel channel, FileChannel.MapMode mode, long blocks, int segmentShift)
+      throws IOException {
+    long blocksPerSegment = 1L << segmentShift;
+    long bytesPerBlock = BLOCK_LONGS * Long.BYTES;
+    MappedByteBuffer[] segments = new MappedByteBuffer[(int) ((blocks + blocksPerSegment - 1) >>> segmentShift)];
+    for (int i = 0; i < segments.length; i++) {
+      long first = (long) i << segmentShift;
+      long count = Long.min(blocksPerSegment, blocks - first);
+      segments[i] = channel.map(mode, HEADER_SIZE + first * bytesPerBlock, count * bytesPerBlock);
+      segments[i].order(ByteOrder.LITTLE_ENDIAN);
+    }
+    return segments;
+  }
+
+  static LongBuffer[] asLongBuffers(MappedByteBuffer[] segments) {
+    LongBuffer[] longs = new LongBuffer[segments.length];
+    for (int i = 0; i < segments.length; i++) {
+      longs[i] = segments[i].asLongBuffer();
+    }
+    return longs;
+  }
+
+  // Multiply-shift maps the top 32 bits onto [0, blocks) without a division
+  static long block(long fingerprint, long blocks) {
+    return ((fingerprint >>> 32) * blocks) >>> 32;
+  }
+
+  // The i-th bit within the block, from an independent mix of the fingerprint for each i
+  static int bit(long fingerprint, int i) {
+    long z = fingerprint + (i + 1) * GOLDEN_GAMMA;
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return (int) (z ^ (z >>> 31)) & (BLOCK_BITS - 1);
+  }
+
+  /**
+   * False positive rate of a blocked Bloom filter, averaging the rate of a classic Bloom filter over the number of
+   * keys that land in a block, which is Poisson distributed.
+   *
+   * @param keysPerBlock
+   * @param hashCount
+   * @return the expected false positive rate
+   */
+  static double falsePositiveRate(double keysPerBlock, int hashCount) {
+    double rate = 0;
+    // The Poisson terms are built up as logs, since e^-keysPerBlock underflows for dense blocks
+    double logPoisson = -keysPerBlock;
+    int limit = (int) (keysPerBlock + 10 * Math.sqrt(keysPerBlock) + 20);
+    for (int i = 0; i <= limit; i++) {
+      if (i > 0) {
+        logPoisson += Math.log(keysPerBlock / i);
+      }
+      double bitSet = 1 - Math.pow(1 - 1.0 / BLOCK_BITS, (double) hashCount * i);
+      rate += Math.exp(logPoisson) * Math.pow(bitSet, hashCount);
+    }
+    return rate;
+  }
+}
@@ -0,0 +1,129 @@
+package com.oc.codingtest;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+/**
+ * Builds the files read by {@link BreachedPasswordFilter} from a {@link BreachedPasswordIndex}.
+ * <p>
+ * The filter is sized for the requested false positive rate: the writer picks the fewest bits per entry, and the
+ * best hash count for them, whose blocked Bloom false positive rate is within the target. The bits are set straight
+ * in a mapping of the new file, so the filter is never built on the heap.
+ */
+public final class BreachedPasswordFilterWriter {
+
+  static final double DEFAULT_FALSE_POSITIVE_RATE = 0.01;
+
+  private static final double MAX_BITS_PER_ENTRY = 64;
+  private static final double BITS_PER_ENTRY_STEP = 0.25;
+
+  private BreachedPasswordFilterWriter() {
+  }
+
+  /**
+   * Usage: BreachedPasswordFilterWriter &lt;index file&gt; &lt;filter file&gt; [false positive rate]
+   *
+   * @param args
+   * @throws IOException
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length != 2 && args.length != 3) {
+      System.err.println("Usage: BreachedPasswordFilterWriter <index file> <filter file> [false positive rate]");
+      System.exit(2);
+    }
+    double falsePositiveRate = args.length == 3 ? Double.parseDouble(args[2]) : DEFAULT_FALSE_POSITIVE_RATE;
+
+    BreachedPasswordIndex index = BreachedPasswordIndex.open(Path.of(args[0]));
+    fromIndex(index, falsePositiveRate, Path.of(args[1]));
+
+    BreachedPasswordFilter filter = BreachedPasswordFilter.open(Path.of(args[1]));
+    System.out.println("Wrote a filter of " + filter.size() + " fingerprints to " + args[1] + ": "
+        + filter.memorySize() + " bytes, " + filter.hashCount() + " hashes, expected false positive rate "
+        + filter.expectedFalsePositiveRate());
+  }
+
+  /**
+   * @param index
+   * @param falsePositiveRate the target rate, between 0 and 1
+   * @param target
+   * @return the size of the filter's blocks in bytes
+   * @throws IOException
+   */
+  public static long fromIndex(BreachedPasswordIndex index, double falsePositiveRate, Path target)
+      throws IOException {
+    return fromIndex(index, falsePositiveRate, target, BreachedPasswordFilter.DEFAULT_SEGMENT_SHIFT);
+  }
+
+  static long fromIndex(BreachedPasswordIndex index, double falsePositiveRate, Path target, int segmentShift)
+      throws IOException {
+    if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+      throw new IllegalArgumentException("False positive rate must be between 0 and 1: " + falsePositiveRate);
+    }
+
+    double bitsPerEntry = BITS_PER_ENTRY_STEP;
+    int hashCount = hashCount(bitsPerEntry);
+    while (BreachedPasswordFilter.falsePositiveRate(BreachedPasswordFilter.BLOCK_BITS / bitsPerEntry, hashCount)
+        > falsePositiveRate) {
+      bitsPerEntry += BITS_PER_ENTRY_STEP;
+      if (bitsPerEntry > MAX_BITS_PER_ENTRY) {
+        throw new IllegalArgumentException("False positive rate is too small for a blocked filter: "
+            + falsePositiveRate);
+      }
+      hashCount = hashCount(bitsPerEntry);
+    }
+
+    long blocks = Long.max(1, (long) Math.ceil(index.size() * bitsPerEntry / BreachedPasswordFilter.BLOCK_BITS));
+    if (blocks > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Index is too big for a filter at rate " + falsePositiveRate);
+    }
+    long memorySize = blocks * BreachedPasswordFilter.BLOCK_LONGS * Long.BYTES;
+
+    try (RandomAccessFile file = new RandomAccessFile(target.toFile(), "rw");
+         FileChannel channel = file.getChannel()) {
+      // Extending the file zero-fills it, so every bit starts clear
+      file.setLength(0);
+      file.setLength(BreachedPasswordFilter.HEADER_SIZE + memorySize);
+
+      MappedByteBuffer[] mappings = BreachedPasswordFilter.map(channel, FileChannel.MapMode.READ_WRITE, blocks,
+          segmentShift);
+      LongBuffer[] segments = BreachedPasswordFilter.asLongBuffers(mappings);
+      for (long i = 0; i < index.size(); i++) {
+        long fingerprint = index.get(i);
+        long block = BreachedPasswordFilter.block(fingerprint, blocks);
+        LongBuffer segment = segments[(int) (block >>> segmentShift)];
+        int base = (int) (block & ((1L << segmentShift) - 1)) * BreachedPasswordFilter.BLOCK_LONGS;
+
+        for (int h = 0; h < hashCount; h++) {
+          int bit = BreachedPasswordFilter.bit(fingerprint, h);
+          segment.put(base + (bit >>> 6), segment.get(base + (bit >>> 6)) | (1L << bit));
+        }
+      }
+
+      ByteBuffer header = ByteBuffer.allocate(BreachedPasswordFilter.HEADER_SIZE)
+          .putInt(BreachedPasswordFilter.MAGIC)
+          .putInt(BreachedPasswordFilter.VERSION)
+          .putInt(hashCount)
+          .putInt(0)
+          .putLong(blocks)
+          .putLong(index.size());
+      header.clear();
+      channel.write(header, 0);
+
+      for (MappedByteBuffer mapping : mappings) {
+        mapping.force();
+      }
+      channel.force(true);
+    }
+    return memorySize;
+  }
+
+  private static int hashCount(double bitsPerEntry) {
+    int optimal = (int) Math.round(bitsPerEntry * Math.log(2));
+    return Integer.max(1, Integer.min(BreachedPasswordFilter.MAX_HASH_COUNT, optimal));
+  }
+}
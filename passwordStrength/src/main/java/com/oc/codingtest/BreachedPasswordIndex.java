@@ -0,0 +1,175 @@
+package com.oc.codingtest;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A read-only set of breached-password fingerprints, memory-mapped from a file written by
+ * {@link BreachedPasswordIndexWriter}.
+ * <p>
+ * The file is a 16-byte header (magic, version, entry count) followed by the fingerprints as big-endian longs,
+ * sorted as unsigned values with no duplicates. It is mapped in segments of up to 1 GiB, so files with billions of
+ * entries work without being read onto the heap, and the OS pages in only what lookups touch.
+ * <p>
+ * Fingerprints are truncated SHA-1 hashes (see {@link Sha1Fingerprint}), so they are spread evenly and a lookup
+ * uses interpolation search, which takes O(log log n) probes on average. If interpolation doesn't converge within a
+ * few probes the search carries on as a binary search. Fingerprints are 64 bits, so a password that isn't in the
+ * corpus matches by accident with a chance of about n / 2^64.
+ * <p>
+ * Thread-safe. The mapping is released when the index is garbage collected.
+ */
+public final class BreachedPasswordIndex {
+
+  static final int MAGIC = 0x50574249;
+  static final int VERSION = 1;
+  static final int HEADER_SIZE = 16;
+
+  static final int DEFAULT_SEGMENT_SHIFT = 27;
+
+  private static final int MAX_INTERPOLATION_PROBES = 8;
+
+  private final LongBuffer[] segments;
+  private final int segmentShift;
+  private final long size;
+  private final BreachedPasswordFilter filter;
+
+  private BreachedPasswordIndex(LongBuffer[] segments, int segmentShift, long size, BreachedPasswordFilter filter) {
+    this.segments = segments;
+    this.segmentShift = segmentShift;
+    this.size = size;
+    this.filter = filter;
+  }
+
+  public static BreachedPasswordIndex open(Path path) throws IOException {
+    return open(path, DEFAULT_SEGMENT_SHIFT);
+  }
+
+  /**
+   * @param path
+   * @param segmentShift log2 of the number of entries mapped per segment
+   * @return the opened index
+   * @throws IOException
+   */
+  static BreachedPasswordIndex open(Path path, int segmentShift) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+      while (header.hasRemaining()) {
+        if (channel.read(header, header.position()) < 0) {
+          throw new IOException("Not a breached password index: " + path);
+        }
+      }
+      header.flip();
+      if (header.getInt() != MAGIC) {
+        throw new IOException("Not a breached password index: " + path);
+      }
+      int version = header.getInt();
+      if (version != VERSION) {
+        throw new IOException("Unsupported breached password index version " + version + ": " + path);
+      }
+      long size = header.getLong();
+      if (size < 0 || HEADER_SIZE + size * Long.BYTES != channel.size()) {
+        throw new IOException("Breached password index is truncated or corrupt: " + path);
+      }
+
+      long entriesPerSegment = 1L << segmentShift;
+      LongBuffer[] segments = new LongBuffer[(int) ((size + entriesPerSegment - 1) >>> segmentShift)];
+      for (int i = 0; i < segments.length; i++) {
+        long first = (long) i << segmentShift;
+        long entries = Long.min(entriesPerSegment, size - first);
+        segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE + first * Long.BYTES,
+            entries * Long.BYTES).asLongBuffer();
+      }
+      // The mappings stay valid after the channel is closed
+      return new BreachedPasswordIndex(segments, segmentShift, size, null);
+    }
+  }
+
+  /**
+   * @param password
+   * @return true if the password's fingerprint is in the index
+   */
+  public boolean contains(CharSequence password) {
+    return this.containsFingerprint(Sha1Fingerprint.of(password));
+  }
+
+  /**
+   * @param fingerprint the first 8 bytes of the SHA-1 of the UTF-8 password, big-endian
+   * @return true if the fingerprint is in the index
+   */
+  public boolean containsFingerprint(long fingerprint) {
+    if (this.size == 0 || (this.filter != null && !this.filter.mightContainFingerprint(fingerprint))) {
+      return false;
+    }
+
+    long low = 0;
+    long high = this.size - 1;
+    long lowKey = this.get(low);
+    long highKey = this.get(high);
+    int probes = 0;
+
+    while (Long.compareUnsigned(fingerprint, lowKey) >= 0 && Long.compareUnsigned(fingerprint, highKey) <= 0) {
+      long mid;
+      if (probes++ < MAX_INTERPOLATION_PROBES && lowKey != highKey) {
+        double fraction = (unsigned(fingerprint) - unsigned(lowKey)) / (unsigned(highKey) - unsigned(lowKey));
+        mid = low + (long) (fraction * (high - low));
+        mid = Long.max(low, Long.min(high, mid));
+      } else {
+        mid = (low + high) >>> 1;
+      }
+
+      long midKey = this.get(mid);
+      int comparison = Long.compareUnsigned(midKey, fingerprint);
+      if (comparison == 0) {
+        return true;
+      } else if (comparison < 0) {
+        low = mid + 1;
+        if (low > high) {
+          return false;
+        }
+        lowKey = this.get(low);
+      } else {
+        high = mid - 1;
+        if (low > high) {
+          return false;
+        }
+        highKey = this.get(high);
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Same index with a {@link BreachedPasswordFilter} checked before every lookup, so most passwords that aren't in
+   * the index are turned away without searching it.
+   *
+   * @param filter built from this index
+   * @return the filtered index
+   */
+  public BreachedPasswordIndex withFilter(BreachedPasswordFilter filter) {
+    if (filter.size() != this.size) {
+      throw new IllegalArgumentException("Filter was built from an index of " + filter.size()
+          + " fingerprints, not this one of " + this.size);
+    }
+    return new BreachedPasswordIndex(this.segments, this.segmentShift, this.size, filter);
+  }
+
+  /**
+   * @return the number of fingerprints in the index
+   */
+  public long size() {
+    return this.size;
+  }
+
+  long get(long index) {
+    return this.segments[(int) (index >>> this.segmentShift)].get((int) (index & ((1L << this.segmentShift) - 1)));
+  }
+
+  // The top 53 bits as a double, which keeps the unsigned order closely enough to interpolate with
+  private static double unsigned(long value) {
+    return (double) (value >>> 11);
+  }
+}
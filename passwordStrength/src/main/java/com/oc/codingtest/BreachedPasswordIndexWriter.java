@@ -0,0 +1,188 @@
+package com.oc.codingtest;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Writes the files read by {@link BreachedPasswordIndex}.
+ * <p>
+ * Real corpora are converted with {@link #fromSortedHashes(Path, Path)}, which streams a hash list that is already
+ * sorted, eg: the SHA-1 "ordered by hash" download of a breach corpus, so even hundreds of millions of hashes need
+ * no memory beyond a write buffer. Small lists can be written straight from the passwords with
+ * {@link #fromPasswords(Collection, Path)}.
+ */
+public final class BreachedPasswordIndexWriter {
+
+  private static final int FINGERPRINT_HEX_DIGITS = 16;
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  private BreachedPasswordIndexWriter() {
+  }
+
+  /**
+   * Usage: BreachedPasswordIndexWriter &lt;sorted SHA-1 hash list&gt; &lt;index file&gt;
+   *
+   * @param args
+   * @throws IOException
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length != 2) {
+      System.err.println("Usage: BreachedPasswordIndexWriter <sorted SHA-1 hash list> <index file>");
+      System.exit(2);
+    }
+    long entries = fromSortedHashes(Path.of(args[0]), Path.of(args[1]));
+    System.out.println("Wrote " + entries + " fingerprints to " + args[1]);
+  }
+
+  /**
+   * Convert a list of hex SHA-1 hashes, one per line in ascending order, to an index. Anything after the first 16
+   * hex digits of a line, eg: the rest of the hash and a ":count" suffix, is ignored. Blank lines are skipped. The
+   * target is only replaced once the whole list has been converted, so a failure leaves any previous index intact.
+   *
+   * @param hashes
+   * @param target
+   * @return the number of distinct fingerprints written
+   * @throws IOException if the list can't be read, isn't sorted or has a malformed line
+   */
+  public static long fromSortedHashes(Path hashes, Path target) throws IOException {
+    try (BufferedReader reader = Files.newBufferedReader(hashes, StandardCharsets.US_ASCII);
+         IndexOutput output = new IndexOutput(target)) {
+      long lineNumber = 0;
+      String line;
+      while ((line = reader.readLine()) != null) {
+        lineNumber += 1;
+        if (line.isBlank()) {
+          continue;
+        }
+        if (line.length() < FINGERPRINT_HEX_DIGITS) {
+          throw new IOException("Malformed hash on line " + lineNumber + " of " + hashes);
+        }
+
+        long fingerprint;
+        try {
+          fingerprint = Long.parseUnsignedLong(line, 0, FINGERPRINT_HEX_DIGITS, 16);
+        } catch (NumberFormatException e) {
+          throw new IOException("Malformed hash on line " + lineNumber + " of " + hashes, e);
+        }
+        if (!output.write(fingerprint)) {
+          throw new IOException("Hashes are not in ascending order on line " + lineNumber + " of " + hashes);
+        }
+      }
+      output.commit();
+      return output.size;
+    }
+  }
+
+  /**
+   * Write an index of the given passwords, sorting their fingerprints in memory.
+   *
+   * @param passwords
+   * @param target
+   * @return the number of distinct fingerprints written
+   * @throws IOException
+   */
+  public static long fromPasswords(Collection<? extends CharSequence> passwords, Path target) throws IOException {
+    // Flipping the sign bit makes a signed sort order the values as unsigned
+    long[] fingerprints = passwords.stream()
+        .mapToLong(password -> Sha1Fingerprint.of(password) ^ Long.MIN_VALUE)
+        .toArray();
+    Arrays.sort(fingerprints);
+
+    try (IndexOutput output = new IndexOutput(target)) {
+      for (long fingerprint : fingerprints) {
+        output.write(fingerprint ^ Long.MIN_VALUE);
+      }
+      output.commit();
+      return output.size;
+    }
+  }
+
+  /**
+   * Writes ascending fingerprints, dropping duplicates, to a temporary file next to the target. {@link #commit()}
+   * fills in the header's entry count and moves the file into place; closing without committing deletes it, so a
+   * failed build never leaves a partial index that would open cleanly.
+   */
+  private static final class IndexOutput implements AutoCloseable {
+
+    private final Path target;
+    private final Path temporary;
+    private final FileChannel channel;
+    private final DataOutputStream out;
+    private long size = 0;
+    private long last = 0;
+    private boolean committed = false;
+
+    IndexOutput(Path target) throws IOException {
+      this.target = target;
+      this.temporary = Files.createTempFile(target.toAbsolutePath().getParent(), target.getFileName().toString(),
+          ".tmp");
+      this.channel = FileChannel.open(this.temporary, StandardOpenOption.WRITE);
+      this.out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(this.channel), BUFFER_SIZE));
+      this.out.writeInt(BreachedPasswordIndex.MAGIC);
+      this.out.writeInt(BreachedPasswordIndex.VERSION);
+      this.out.writeLong(0L);
+    }
+
+    /**
+     * @param fingerprint
+     * @return false if the fingerprint is below the last one written
+     * @throws IOException
+     */
+    boolean write(long fingerprint) throws IOException {
+      if (this.size > 0) {
+        int comparison = Long.compareUnsigned(fingerprint, this.last);
+        if (comparison <= 0) {
+          return comparison == 0;
+        }
+      }
+      this.out.writeLong(fingerprint);
+      this.last = fingerprint;
+      this.size += 1;
+      return true;
+    }
+
+    /**
+     * Stamp the entry count and replace the target with the finished index.
+     *
+     * @throws IOException
+     */
+    void commit() throws IOException {
+      try (FileChannel channel = this.channel) {
+        this.out.flush();
+        ByteBuffer count = ByteBuffer.allocate(Long.BYTES).putLong(0, this.size);
+        channel.write(count, BreachedPasswordIndex.HEADER_SIZE - Long.BYTES);
+        channel.force(false);
+      }
+      try {
+        Files.move(this.temporary, this.target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(this.temporary, this.target, StandardCopyOption.REPLACE_EXISTING);
+      }
+      this.committed = true;
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (!this.committed) {
+        try {
+          this.channel.close();
+        } finally {
+          Files.deleteIfExists(this.temporary);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,44 @@
+package com.oc.codingtest;
+
+/**
+ * Built-in rule rejecting passwords found in a {@link BreachedPasswordIndex}.
+ * The password is hashed as it is fed in, so the rule adds no extra pass and keeps no copy of it.
+ *
+ * @param index
+ */
+public record BreachedPasswordRule(BreachedPasswordIndex index) implements PasswordRule<BreachedPasswordRule.State> {
+
+  public BreachedPasswordRule {
+    if (index == null) {
+      throw new IllegalArgumentException("Index must not be null");
+    }
+  }
+
+  @Override
+  public State newState() {
+    return new State();
+  }
+
+  @Override
+  public void reset(State state) {
+    state.fingerprint.reset();
+  }
+
+  @Override
+  public boolean accept(State state, char c) {
+    state.fingerprint.accept(c);
+    return true;
+  }
+
+  @Override
+  public boolean finish(State state) {
+    return !this.index.containsFingerprint(state.fingerprint.finish());
+  }
+
+  /**
+   * Opaque per-scan state.
+   */
+  public static final class State {
+    final Sha1Fingerprint fingerprint = new Sha1Fingerprint();
+  }
+}
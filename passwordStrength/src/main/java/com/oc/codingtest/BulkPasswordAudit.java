@@ -0,0 +1,253 @@
+package com.oc.codingtest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Audits a newline-delimited UTF-8 password file by memory-mapping it in newline-aligned chunks and scoring the
+ * chunks in parallel on a fork-join pool.
+ * <p>
+ * Every line is scored with the same rules as {@link PasswordStrength#getMaxRepetitionCount(String)} and
+ * {@link PasswordStrength#getMaxSequenceLen(String)}, straight from the mapped bytes. The result is an
+ * {@link AuditReport} with score histograms and the byte offsets of the lines that exceed the limits.
+ */
+public final class BulkPasswordAudit {
+
+  static final long DEFAULT_CHUNK_SIZE = 64L << 20;
+
+  private static final int BOUNDARY_SEARCH_SIZE = 4096;
+
+  private final int maxAllowedRepetitionCount;
+  private final int maxAllowedSequenceLength;
+  private final long chunkSize;
+
+  public BulkPasswordAudit(int maxAllowedRepetitionCount, int maxAllowedSequenceLength) {
+    this(maxAllowedRepetitionCount, maxAllowedSequenceLength, DEFAULT_CHUNK_SIZE);
+  }
+
+  BulkPasswordAudit(int maxAllowedRepetitionCount, int maxAllowedSequenceLength, long chunkSize) {
+    if (chunkSize <= 0 || chunkSize > Integer.MAX_VALUE / 2) {
+      throw new IllegalArgumentException("Chunk size out of range: " + chunkSize);
+    }
+    if (maxAllowedRepetitionCount < 0 || maxAllowedSequenceLength < 0) {
+      throw new IllegalArgumentException("Limits must not be negative: repetition " + maxAllowedRepetitionCount
+          + ", sequence " + maxAllowedSequenceLength);
+    }
+    this.maxAllowedRepetitionCount = maxAllowedRepetitionCount;
+    this.maxAllowedSequenceLength = maxAllowedSequenceLength;
+    this.chunkSize = chunkSize;
+  }
+
+  public AuditReport audit(Path path) throws IOException {
+    return audit(path, ForkJoinPool.commonPool());
+  }
+
+  public AuditReport audit(Path path, ForkJoinPool pool) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long[] boundaries = findChunkBoundaries(channel);
+      if (boundaries.length < 2) {
+        return new ChunkResult().toReport();
+      }
+
+      try {
+        return pool.invoke(new AuditTask(channel, boundaries, 0, boundaries.length - 1)).toReport();
+      } catch (UncheckedIOException e) {
+        throw e.getCause();
+      }
+    }
+  }
+
+  /**
+   * Split the file into chunks of roughly chunkSize bytes, moving every split forward to just after a newline.
+   *
+   * @return the chunk start offsets followed by the file size
+   */
+  private long[] findChunkBoundaries(FileChannel channel) throws IOException {
+    long size = channel.size();
+    long[] boundaries = new long[16];
+    int count = 0;
+    boundaries[count++] = 0;
+
+    ByteBuffer search = ByteBuffer.allocate(BOUNDARY_SEARCH_SIZE);
+    long start = 0;
+    while (start < size) {
+      long end = size;
+      // Look for the first newline at or after the nominal end of the chunk
+      long position = start + this.chunkSize - 1;
+      searching:
+      while (position < size) {
+        search.clear();
+        int read = channel.read(search, position);
+        for (int i = 0; i < read; i++) {
+          if (search.get(i) == '\n') {
+            end = position + i + 1;
+            break searching;
+          }
+        }
+        position += read;
+      }
+
+      if (end - start > Integer.MAX_VALUE) {
+        throw new IOException("Line too long to map at offset " + start);
+      }
+      if (count == boundaries.length) {
+        boundaries = Arrays.copyOf(boundaries, count * 2);
+      }
+      boundaries[count++] = end;
+      start = end;
+    }
+
+    return Arrays.copyOf(boundaries, count);
+  }
+
+  private final class AuditTask extends RecursiveTask<ChunkResult> {
+    private static final long serialVersionUID = 1L;
+
+    private final FileChannel channel;
+    private final long[] boundaries;
+    private final int fromChunk;
+    private final int toChunk;
+
+    AuditTask(FileChannel channel, long[] boundaries, int fromChunk, int toChunk) {
+      this.channel = channel;
+      this.boundaries = boundaries;
+      this.fromChunk = fromChunk;
+      this.toChunk = toChunk;
+    }
+
+    @Override
+    protected ChunkResult compute() {
+      if (this.toChunk - this.fromChunk == 1) {
+        try {
+          return auditChunk(this.channel, this.boundaries[this.fromChunk], this.boundaries[this.toChunk]);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      }
+
+      int middle = (this.fromChunk + this.toChunk) >>> 1;
+      AuditTask left = new AuditTask(this.channel, this.boundaries, this.fromChunk, middle);
+      AuditTask right = new AuditTask(this.channel, this.boundaries, middle, this.toChunk);
+      right.fork();
+      ChunkResult result = left.compute();
+      return result.merge(right.join());
+    }
+  }
+
+  private ChunkResult auditChunk(FileChannel channel, long start, long end) throws IOException {
+    MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+    int limit = bytes.limit();
+
+    PasswordScanner scanner = new PasswordScanner();
+    ChunkResult result = new ChunkResult();
+    long lineStart = start;
+    int lineLength = 0;
+    boolean pendingCarriageReturn = false;
+
+    int i = 0;
+    while (i < limit) {
+      byte b = bytes.get(i);
+
+      // A '\r' is only part of the line terminator if a '\n' follows it
+      if (pendingCarriageReturn) {
+        pendingCarriageReturn = false;
+        if (b != '\n') {
+          scanner.accept('\r');
+          lineLength += 1;
+        }
+      }
+
+      if (b == '\n') {
+        this.emit(scanner, result, lineStart);
+        lineStart = start + i + 1;
+        lineLength = 0;
+        i += 1;
+      } else if (b == '\r') {
+        pendingCarriageReturn = true;
+        i += 1;
+      } else if (b >= 0) {
+        // ASCII fast path
+        scanner.accept((char) b);
+        lineLength += 1;
+        i += 1;
+      } else {
+        int decoded = Utf8.decode(bytes, i, limit);
+        Utf8.accept(scanner, Utf8.codePoint(decoded));
+        lineLength += 1;
+        i += Utf8.length(decoded);
+      }
+    }
+
+    // Only the last chunk can end without a newline, and a '\r' at the end of the file is part of the last line
+    if (pendingCarriageReturn) {
+      scanner.accept('\r');
+      lineLength += 1;
+    }
+    if (lineLength > 0) {
+      this.emit(scanner, result, lineStart);
+    }
+
+    return result;
+  }
+
+  private void emit(PasswordScanner scanner, ChunkResult result, long lineStart) {
+    int repetitionCount = scanner.getMaxRepetitionCount();
+    int sequenceLength = scanner.getMaxSequenceLen();
+    scanner.clear();
+
+    result.lineCount += 1;
+    result.repetitionHistogram[AuditReport.bucket(repetitionCount)] += 1;
+    result.sequenceHistogram[AuditReport.bucket(sequenceLength)] += 1;
+    if (repetitionCount > this.maxAllowedRepetitionCount || sequenceLength > this.maxAllowedSequenceLength) {
+      result.addOffendingLine(lineStart);
+    }
+  }
+
+  private static final class ChunkResult {
+    long lineCount = 0;
+    final long[] repetitionHistogram = new long[AuditReport.HISTOGRAM_BUCKETS];
+    final long[] sequenceHistogram = new long[AuditReport.HISTOGRAM_BUCKETS];
+    long[] offendingLineOffsets = new long[16];
+    int offendingLineCount = 0;
+
+    void addOffendingLine(long offset) {
+      if (this.offendingLineCount == this.offendingLineOffsets.length) {
+        this.offendingLineOffsets = Arrays.copyOf(this.offendingLineOffsets, this.offendingLineCount * 2);
+      }
+      this.offendingLineOffsets[this.offendingLineCount++] = offset;
+    }
+
+    /**
+     * Fold a result for the chunks directly after this one into this one, keeping offsets in file order.
+     */
+    ChunkResult merge(ChunkResult next) {
+      this.lineCount += next.lineCount;
+      for (int i = 0; i < AuditReport.HISTOGRAM_BUCKETS; i++) {
+        this.repetitionHistogram[i] += next.repetitionHistogram[i];
+        this.sequenceHistogram[i] += next.sequenceHistogram[i];
+      }
+
+      int total = this.offendingLineCount + next.offendingLineCount;
+      if (total > this.offendingLineOffsets.length) {
+        this.offendingLineOffsets = Arrays.copyOf(this.offendingLineOffsets, total);
+      }
+      System.arraycopy(next.offendingLineOffsets, 0, this.offendingLineOffsets, this.offendingLineCount,
+          next.offendingLineCount);
+      this.offendingLineCount = total;
+      return this;
+    }
+
+    AuditReport toReport() {
+      return new AuditReport(this.lineCount, this.repetitionHistogram, this.sequenceHistogram,
+          Arrays.copyOf(this.offendingLineOffsets, this.offendingLineCount));
+    }
+  }
+}
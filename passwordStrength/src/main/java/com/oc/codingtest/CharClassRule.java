@@ -0,0 +1,72 @@
+package com.oc.codingtest;
+
+/**
+ * Built-in rule requiring at least minCount chars of a {@link CharClass}, eg: two digits.
+ *
+ * @param charClass
+ * @param minCount
+ */
+public record CharClassRule(CharClass charClass, int minCount) implements PasswordRule<CharClassRule.State> {
+
+  public enum CharClass {
+    LOWER,
+    UPPER,
+    DIGIT,
+    /**
+     * Anything that isn't a letter, digit or whitespace. A surrogate pair counts once, on its low half.
+     */
+    SYMBOL;
+
+    public boolean contains(char c) {
+      switch (this) {
+        case LOWER:
+          return Character.isLowerCase(c);
+        case UPPER:
+          return Character.isUpperCase(c);
+        case DIGIT:
+          return Character.isDigit(c);
+        default:
+          return !Character.isLetterOrDigit(c) && !Character.isWhitespace(c) && !Character.isHighSurrogate(c);
+      }
+    }
+  }
+
+  public CharClassRule {
+    if (charClass == null) {
+      throw new IllegalArgumentException("Char class must not be null");
+    }
+    if (minCount < 0) {
+      throw new IllegalArgumentException("Minimum must not be negative: " + minCount);
+    }
+  }
+
+  @Override
+  public State newState() {
+    return new State();
+  }
+
+  @Override
+  public void reset(State state) {
+    state.count = 0;
+  }
+
+  @Override
+  public boolean accept(State state, char c) {
+    if (this.charClass.contains(c)) {
+      state.count += 1;
+    }
+    return true;
+  }
+
+  @Override
+  public boolean finish(State state) {
+    return state.count >= this.minCount;
+  }
+
+  /**
+   * Opaque per-scan state.
+   */
+  public static final class State {
+    int count;
+  }
+}
@@ -0,0 +1,101 @@
+package com.oc.codingtest;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Precomputed case folding and "countable" classification for every UTF-16 char.
+ * <p>
+ * Each char has one int entry holding the distance to its lowercase form (shifted left by one) and, in the low bit,
+ * whether that lowercase form is alphabetic or a digit. Entries live in blocks of 128 chars, and identical blocks
+ * are stored once: storing the distance rather than the lowercase char itself makes whole scripts share blocks,
+ * eg: all CJK ideographs are "countable, distance 0". A lookup is one index load plus one entry load, replacing
+ * {@link Character#toLowerCase(char)}, {@link Character#isAlphabetic(int)} and {@link Character#isDigit(int)}.
+ * <p>
+ * Surrogates map to non-countable, so supplementary code points never take part in a sequence, the same as when
+ * scanning a lowercased String char by char.
+ */
+final class CharFold {
+
+  private static final int BLOCK_BITS = 7;
+  private static final int BLOCK_SIZE = 1 << BLOCK_BITS;
+  private static final int BLOCK_MASK = BLOCK_SIZE - 1;
+
+  // Offset of each block's entries within ENTRIES
+  private static final int[] BLOCK_OFFSETS = new int[(Character.MAX_VALUE + 1) >>> BLOCK_BITS];
+  private static final int[] ENTRIES;
+
+  static {
+    Map<Block, Integer> offsets = new HashMap<>();
+    int[] entries = new int[BLOCK_SIZE * 64];
+    int used = 0;
+
+    for (int block = 0; block < BLOCK_OFFSETS.length; block++) {
+      int[] blockEntries = new int[BLOCK_SIZE];
+      for (int i = 0; i < BLOCK_SIZE; i++) {
+        blockEntries[i] = entry((char) ((block << BLOCK_BITS) | i));
+      }
+
+      Integer offset = offsets.get(new Block(blockEntries));
+      if (offset == null) {
+        offset = used;
+        if (used + BLOCK_SIZE > entries.length) {
+          entries = Arrays.copyOf(entries, entries.length * 2);
+        }
+        System.arraycopy(blockEntries, 0, entries, used, BLOCK_SIZE);
+        used += BLOCK_SIZE;
+        offsets.put(new Block(blockEntries), offset);
+      }
+      BLOCK_OFFSETS[block] = offset;
+    }
+
+    ENTRIES = Arrays.copyOf(entries, used);
+  }
+
+  private CharFold() {
+  }
+
+  /**
+   * @param c any char
+   * @return the lowercased char if it is countable, otherwise {@link SequenceState#NO_CHAR}
+   */
+  static int fold(char c) {
+    int entry = ENTRIES[BLOCK_OFFSETS[c >>> BLOCK_BITS] + (c & BLOCK_MASK)];
+    return (entry & 1) != 0 ? c + (entry >> 1) : SequenceState.NO_CHAR;
+  }
+
+  /**
+   * @param c any char
+   * @return the lowercased char, countable or not
+   */
+  static char lower(char c) {
+    int entry = ENTRIES[BLOCK_OFFSETS[c >>> BLOCK_BITS] + (c & BLOCK_MASK)];
+    return (char) (c + (entry >> 1));
+  }
+
+  /**
+   * @return the number of ints held by the table, for sizing
+   */
+  static int tableSize() {
+    return BLOCK_OFFSETS.length + ENTRIES.length;
+  }
+
+  private static int entry(char c) {
+    char lower = Character.toLowerCase(c);
+    int countable = SequenceState.isCountable(lower) ? 1 : 0;
+    return ((lower - c) << 1) | countable;
+  }
+
+  private record Block(int[] entries) {
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof Block && Arrays.equals(this.entries, ((Block) o).entries);
+    }
+
+    @Override
+    public int hashCode() {
+      return Arrays.hashCode(this.entries);
+    }
+  }
+}
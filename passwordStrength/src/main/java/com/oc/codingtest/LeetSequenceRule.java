@@ -0,0 +1,57 @@
+package com.oc.codingtest;
+
+/**
+ * Built-in rule limiting the longest ascending/descending run like {@link SequenceRule}, but over every reading of
+ * the password allowed by a {@link LeetTable}, so eg: "@bcd" is a sequence of 4.
+ *
+ * @param maxAllowedSequenceLength
+ * @param table
+ */
+public record LeetSequenceRule(int maxAllowedSequenceLength, LeetTable table)
+    implements PasswordRule<LeetSequenceRule.State> {
+
+  public LeetSequenceRule {
+    if (maxAllowedSequenceLength < 0) {
+      throw new IllegalArgumentException("Limit must not be negative: " + maxAllowedSequenceLength);
+    }
+    if (table == null) {
+      throw new IllegalArgumentException("Leet table must not be null");
+    }
+  }
+
+  public LeetSequenceRule(int maxAllowedSequenceLength) {
+    this(maxAllowedSequenceLength, LeetTable.DEFAULT);
+  }
+
+  @Override
+  public State newState() {
+    return new State(this.table);
+  }
+
+  @Override
+  public void reset(State state) {
+    state.sequence.clear();
+  }
+
+  @Override
+  public boolean accept(State state, char c) {
+    state.sequence.nextChar(c);
+    return state.sequence.maxLen <= this.maxAllowedSequenceLength;
+  }
+
+  @Override
+  public boolean finish(State state) {
+    return state.sequence.maxLen <= this.maxAllowedSequenceLength;
+  }
+
+  /**
+   * Opaque per-scan state.
+   */
+  public static final class State {
+    final LeetSequenceState sequence;
+
+    State(LeetTable table) {
+      this.sequence = new LeetSequenceState(table);
+    }
+  }
+}
@@ -0,0 +1,92 @@
+package com.oc.codingtest;
+
+/**
+ * {@link SequenceState} over every leet reading of the password at once, eg: "ab(d" gives a sequence of 4, the same
+ * as "abcd", when '(' may stand for 'c'.
+ * <p>
+ * The NFA holds one run per distinct (last char, direction) pair. Two runs that agree on both continue the same
+ * way from here on, so only the longer one is kept. The last char is one of the current char's candidates and there
+ * are three directions, so at most {@link LeetTable#MAX_CANDIDATES} * 3 runs are live after any char. Each run is
+ * advanced by a {@link SequenceState}, so the transitions are exactly the ones used without leet.
+ */
+final class LeetSequenceState {
+
+  private static final int MAX_RUNS = LeetTable.MAX_CANDIDATES * 3;
+
+  private final LeetTable table;
+  private final SequenceState step = new SequenceState();
+  private final int[] candidates = new int[LeetTable.MAX_CANDIDATES];
+
+  private int[] lastChars = new int[MAX_RUNS];
+  private int[] directions = new int[MAX_RUNS];
+  private int[] currentLens = new int[MAX_RUNS];
+  private int[] nextLastChars = new int[MAX_RUNS];
+  private int[] nextDirections = new int[MAX_RUNS];
+  private int[] nextCurrentLens = new int[MAX_RUNS];
+  private int runs;
+
+  int maxLen;
+
+  LeetSequenceState(LeetTable table) {
+    this.table = table;
+    this.clear();
+  }
+
+  void nextChar(char c) {
+    int candidateCount = this.table.folded(c, this.candidates);
+    if (candidateCount == 0) {
+      // Every reading is non-countable, which ends all runs the same way
+      this.clear(this.maxLen);
+      return;
+    }
+
+    int nextRuns = 0;
+    for (int run = 0; run < this.runs; run++) {
+      for (int i = 0; i < candidateCount; i++) {
+        this.step.lastChar = this.lastChars[run];
+        this.step.direction = this.directions[run];
+        this.step.currentLen = this.currentLens[run];
+        this.step.nextOrdinal(this.candidates[i]);
+
+        nextRuns = this.keepLongest(nextRuns, this.step.lastChar, this.step.direction, this.step.currentLen);
+        this.maxLen = Integer.max(this.maxLen, this.step.currentLen);
+      }
+    }
+
+    int[] swap = this.lastChars;
+    this.lastChars = this.nextLastChars;
+    this.nextLastChars = swap;
+    swap = this.directions;
+    this.directions = this.nextDirections;
+    this.nextDirections = swap;
+    swap = this.currentLens;
+    this.currentLens = this.nextCurrentLens;
+    this.nextCurrentLens = swap;
+    this.runs = nextRuns;
+  }
+
+  void clear() {
+    this.clear(0);
+  }
+
+  private void clear(int maxLen) {
+    this.lastChars[0] = SequenceState.NO_CHAR;
+    this.directions[0] = SequenceState.NONE;
+    this.currentLens[0] = 0;
+    this.runs = 1;
+    this.maxLen = maxLen;
+  }
+
+  private int keepLongest(int nextRuns, int lastChar, int direction, int currentLen) {
+    for (int run = 0; run < nextRuns; run++) {
+      if (this.nextLastChars[run] == lastChar && this.nextDirections[run] == direction) {
+        this.nextCurrentLens[run] = Integer.max(this.nextCurrentLens[run], currentLen);
+        return nextRuns;
+      }
+    }
+    this.nextLastChars[nextRuns] = lastChar;
+    this.nextDirections[nextRuns] = direction;
+    this.nextCurrentLens[nextRuns] = currentLen;
+    return nextRuns + 1;
+  }
+}
@@ -0,0 +1,122 @@
+package com.oc.codingtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Leet-speak substitutions, eg: '@' for 'a' and '0' for 'o', read as extra candidate chars by the leet-aware rules.
+ * <p>
+ * Each char stands for itself plus the letters it substitutes, eg: '1' stands for '1', 'i' and 'l'. Rather than
+ * expanding a password into every reading, which is exponential, the rules run their automata over all candidates
+ * at once as a small NFA. Candidates go through the same {@link CharFold} step as sequences, so the table is
+ * case-insensitive like the rest of the matching.
+ * <p>
+ * Immutable and thread-safe.
+ */
+public final class LeetTable {
+
+  /**
+   * The most substitutions one char may have.
+   */
+  public static final int MAX_SUBSTITUTIONS = 3;
+
+  static final int MAX_CANDIDATES = MAX_SUBSTITUTIONS + 1;
+
+  public static final LeetTable DEFAULT = new LeetTable(Map.ofEntries(
+      Map.entry('@', "a"), Map.entry('4', "a"),
+      Map.entry('8', "b"),
+      Map.entry('(', "c"),
+      Map.entry('3', "e"),
+      Map.entry('6', "g"), Map.entry('9', "g"),
+      Map.entry('1', "il"), Map.entry('!', "i"), Map.entry('|', "il"),
+      Map.entry('0', "o"),
+      Map.entry('5', "s"), Map.entry('$', "s"),
+      Map.entry('7', "t"), Map.entry('+', "t"),
+      Map.entry('2', "z")));
+
+  // Chars with substitutions, ascending, and their lowercased candidates, the char itself first
+  private final char[] chars;
+  private final char[][] candidates;
+
+  /**
+   * @param substitutions for each char, the letters it may stand for
+   */
+  public LeetTable(Map<Character, String> substitutions) {
+    TreeMap<Character, String> sorted = new TreeMap<>(substitutions);
+    this.chars = new char[sorted.size()];
+    this.candidates = new char[sorted.size()][];
+
+    int index = 0;
+    for (Map.Entry<Character, String> substitution : sorted.entrySet()) {
+      if (substitution.getValue().length() > MAX_SUBSTITUTIONS) {
+        throw new IllegalArgumentException("At most " + MAX_SUBSTITUTIONS + " substitutions per char, got \""
+            + substitution.getValue() + "\" for '" + substitution.getKey() + "'");
+      }
+
+      char c = substitution.getKey();
+      char[] candidates = new char[MAX_CANDIDATES];
+      int count = 0;
+      candidates[count++] = CharFold.lower(c);
+      for (int i = 0; i < substitution.getValue().length(); i++) {
+        char candidate = CharFold.lower(substitution.getValue().charAt(i));
+        if (indexOf(candidates, count, candidate) < 0) {
+          candidates[count++] = candidate;
+        }
+      }
+
+      this.chars[index] = c;
+      this.candidates[index] = Arrays.copyOf(candidates, count);
+      index += 1;
+    }
+  }
+
+  /**
+   * @param c any char
+   * @param out receives the lowercased candidates, the char itself first, needs room for {@link #MAX_CANDIDATES}
+   * @return the number of candidates
+   */
+  int lowered(char c, char[] out) {
+    int index = Arrays.binarySearch(this.chars, c);
+    if (index < 0) {
+      out[0] = CharFold.lower(c);
+      return 1;
+    }
+    char[] candidates = this.candidates[index];
+    System.arraycopy(candidates, 0, out, 0, candidates.length);
+    return candidates.length;
+  }
+
+  /**
+   * @param c any char
+   * @param out receives the distinct countable candidates as {@link CharFold#fold(char)} ordinals, needs room for
+   *            {@link #MAX_CANDIDATES}
+   * @return the number of countable candidates, 0 if the char can only be read as non-countable
+   */
+  int folded(char c, int[] out) {
+    int index = Arrays.binarySearch(this.chars, c);
+    if (index < 0) {
+      int ordinal = CharFold.fold(c);
+      out[0] = ordinal;
+      return ordinal == SequenceState.NO_CHAR ? 0 : 1;
+    }
+
+    int count = 0;
+    for (char candidate : this.candidates[index]) {
+      int ordinal = CharFold.fold(candidate);
+      if (ordinal != SequenceState.NO_CHAR) {
+        out[count++] = ordinal;
+      }
+    }
+    return count;
+  }
+
+  private static int indexOf(char[] chars, int length, char c) {
+    for (int i = 0; i < length; i++) {
+      if (chars[i] == c) {
+        return i;
+      }
+    }
+    return -1;
+  }
+}
@@ -0,0 +1,50 @@
+package com.oc.codingtest;
+
+/**
+ * Built-in rule limiting how many times the same char may occur back to back, eg: "aaa" is a run of 3.
+ * Like repetitions, runs are case-sensitive.
+ *
+ * @param maxAllowedRunLength
+ */
+public record MaxRunRule(int maxAllowedRunLength) implements PasswordRule<MaxRunRule.State> {
+
+  public MaxRunRule {
+    if (maxAllowedRunLength < 0) {
+      throw new IllegalArgumentException("Limit must not be negative: " + maxAllowedRunLength);
+    }
+  }
+
+  @Override
+  public State newState() {
+    return new State();
+  }
+
+  @Override
+  public void reset(State state) {
+    state.lastChar = SequenceState.NO_CHAR;
+    state.runLength = 0;
+    state.maxRunLength = 0;
+  }
+
+  @Override
+  public boolean accept(State state, char c) {
+    state.runLength = c == state.lastChar ? state.runLength + 1 : 1;
+    state.lastChar = c;
+    state.maxRunLength = Integer.max(state.maxRunLength, state.runLength);
+    return state.maxRunLength <= this.maxAllowedRunLength;
+  }
+
+  @Override
+  public boolean finish(State state) {
+    return state.maxRunLength <= this.maxAllowedRunLength;
+  }
+
+  /**
+   * Opaque per-scan state.
+   */
+  public static final class State {
+    int lastChar = SequenceState.NO_CHAR;
+    int runLength;
+    int maxRunLength;
+  }
+}
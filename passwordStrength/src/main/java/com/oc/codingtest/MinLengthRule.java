@@ -0,0 +1,43 @@
+package com.oc.codingtest;
+
+/**
+ * Built-in rule requiring at least minLength chars.
+ *
+ * @param minLength
+ */
+public record MinLengthRule(int minLength) implements PasswordRule<MinLengthRule.State> {
+
+  public MinLengthRule {
+    if (minLength < 0) {
+      throw new IllegalArgumentException("Minimum must not be negative: " + minLength);
+    }
+  }
+
+  @Override
+  public State newState() {
+    return new State();
+  }
+
+  @Override
+  public void reset(State state) {
+    state.length = 0;
+  }
+
+  @Override
+  public boolean accept(State state, char c) {
+    state.length += 1;
+    return true;
+  }
+
+  @Override
+  public boolean finish(State state) {
+    return state.length >= this.minLength;
+  }
+
+  /**
+   * Opaque per-scan state.
+   */
+  public static final class State {
+    int length;
+  }
+}
@@ -0,0 +1,55 @@
+package com.oc.codingtest;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Repetition count for very long inputs (passphrases, key files), computed in parallel.
+ * <p>
+ * The input is cut into one contiguous slice per worker. Each slice is counted into its own flat histogram over all
+ * 65536 char values, with no hashing or boxing, and the histograms are summed pairwise at the end. A histogram is
+ * 256 KB, so this only pays off once the input is much longer than that; shorter inputs should use
+ * {@link RepetitionCounter}.
+ */
+final class ParallelRepetitionCounter {
+
+  // Don't bother giving a worker less than this many chars
+  private static final int MIN_SLICE_LENGTH = 1 << 16;
+
+  private ParallelRepetitionCounter() {
+  }
+
+  static int count(CharSequence password) {
+    int length = password.length();
+    int slices = Integer.max(1, Integer.min(ForkJoinPool.getCommonPoolParallelism(), length / MIN_SLICE_LENGTH));
+
+    int[] histogram = IntStream.range(0, slices)
+        .parallel()
+        .mapToObj(slice -> countSlice(password,
+            (int) ((long) length * slice / slices),
+            (int) ((long) length * (slice + 1) / slices)))
+        .reduce(ParallelRepetitionCounter::merge)
+        .orElseGet(() -> new int[Character.MAX_VALUE + 1]);
+
+    int max = 0;
+    for (int count : histogram) {
+      max = Integer.max(max, count);
+    }
+    return max;
+  }
+
+  private static int[] countSlice(CharSequence password, int from, int to) {
+    int[] histogram = new int[Character.MAX_VALUE + 1];
+    for (int i = from; i < to; i++) {
+      histogram[password.charAt(i)] += 1;
+    }
+    return histogram;
+  }
+
+  private static int[] merge(int[] a, int[] b) {
+    for (int i = 0; i < a.length; i++) {
+      a[i] += b[i];
+    }
+    return a;
+  }
+}
@@ -0,0 +1,76 @@
+package com.oc.codingtest;
+
+/**
+ * An immutable, thread-safe set of password limits, built once and checked many times.
+ * <p>
+ * {@link #check(CharSequence)} is the same test as
+ * {@link PasswordStrength#isPasswordPermissible(String, int, int)}, but it only runs the parts that can fail.
+ * A password can't repeat a char more times than it is long, or hold a sequence longer than itself, so eg: with a
+ * repetition limit of 4, any password of 4 chars or fewer skips the repetition count entirely.
+ */
+public final class PasswordPolicy {
+
+  private final int maxAllowedRepetitionCount;
+  private final int maxAllowedSequenceLength;
+
+  public PasswordPolicy(int maxAllowedRepetitionCount, int maxAllowedSequenceLength) {
+    if (maxAllowedRepetitionCount < 0 || maxAllowedSequenceLength < 0) {
+      throw new IllegalArgumentException("Limits must not be negative: repetition " + maxAllowedRepetitionCount
+          + ", sequence " + maxAllowedSequenceLength);
+    }
+    this.maxAllowedRepetitionCount = maxAllowedRepetitionCount;
+    this.maxAllowedSequenceLength = maxAllowedSequenceLength;
+  }
+
+  /**
+   * @param password
+   * @return true if the password's repetition count and max sequence length are both within this policy's limits
+   */
+  public boolean check(CharSequence password) {
+    int length = password.length();
+    boolean repetitionMayFail = length > this.maxAllowedRepetitionCount;
+    boolean sequenceMayFail = length > this.maxAllowedSequenceLength;
+
+    if (repetitionMayFail && sequenceMayFail) {
+      return PasswordScanner.forCurrentThread()
+          .scanWithin(password, this.maxAllowedRepetitionCount, this.maxAllowedSequenceLength);
+    } else if (repetitionMayFail) {
+      return PasswordScanner.forCurrentThread().repetitionsWithin(password, this.maxAllowedRepetitionCount);
+    } else if (sequenceMayFail) {
+      return PasswordScanner.forCurrentThread().sequenceWithin(password, this.maxAllowedSequenceLength);
+    }
+    return true;
+  }
+
+  public int getMaxAllowedRepetitionCount() {
+    return this.maxAllowedRepetitionCount;
+  }
+
+  public int getMaxAllowedSequenceLength() {
+    return this.maxAllowedSequenceLength;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof PasswordPolicy)) {
+      return false;
+    }
+    PasswordPolicy other = (PasswordPolicy) o;
+    return this.maxAllowedRepetitionCount == other.maxAllowedRepetitionCount
+        && this.maxAllowedSequenceLength == other.maxAllowedSequenceLength;
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * this.maxAllowedRepetitionCount + this.maxAllowedSequenceLength;
+  }
+
+  @Override
+  public String toString() {
+    return "PasswordPolicy{maxAllowedRepetitionCount=" + this.maxAllowedRepetitionCount
+        + ", maxAllowedSequenceLength=" + this.maxAllowedSequenceLength + "}";
+  }
+}
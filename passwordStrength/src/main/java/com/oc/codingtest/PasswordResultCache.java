@@ -0,0 +1,199 @@
+package com.oc.codingtest;
+
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded, thread-safe cache of password scores, for passwords that get checked again and again, eg: on form
+ * resubmits and retries.
+ * <p>
+ * Entries are keyed by a 64-bit SipHash fingerprint of the password, keyed with a secret drawn once per process, so
+ * the cache never holds the password itself and its keys can't be matched against a precomputed table. The value
+ * is the password's {@link PasswordScore}, which answers any limits, so one entry serves every policy.
+ * Two passwords only share an entry if their fingerprints collide, which takes around 2^32 distinct passwords.
+ * Passwords of {@link PasswordScore#MAX_FIELD_VALUE} chars or more bypass the cache, since their scores could
+ * saturate a packed field, which {@link PasswordScore#isPermissible(long, int, int)} has to treat as unknown.
+ * <p>
+ * The cache is set-associative: a fingerprint picks a set of {@link #WAYS} entries, and when the set is full the
+ * CLOCK algorithm evicts an entry that has not been hit since the hand last passed it. Sets are guarded by striped
+ * locks, so threads working on different sets don't contend.
+ */
+public final class PasswordResultCache {
+
+  public static final int WAYS = 8;
+
+  private static final int MAX_STRIPES = 64;
+
+  // Fingerprint 0 marks an empty entry, so a real 0 is stored as 1
+  private static final long EMPTY = 0L;
+
+  private static final long SECRET_K0;
+  private static final long SECRET_K1;
+
+  static {
+    SecureRandom random = new SecureRandom();
+    SECRET_K0 = random.nextLong();
+    SECRET_K1 = random.nextLong();
+  }
+
+  private final int setMask;
+  private final long[] fingerprints;
+  private final long[] scores;
+  private final boolean[] referenced;
+  private final byte[] hands;
+  private final Object[] locks;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  /**
+   * @param capacity the most entries to hold, rounded up to a power of two of at least {@link #WAYS}
+   */
+  public PasswordResultCache(int capacity) {
+    if (capacity <= 0 || capacity > 1 << 30) {
+      throw new IllegalArgumentException("Capacity must be between 1 and 2^30: " + capacity);
+    }
+    int sets = 1;
+    while (sets * WAYS < capacity) {
+      sets *= 2;
+    }
+
+    this.setMask = sets - 1;
+    this.fingerprints = new long[sets * WAYS];
+    this.scores = new long[sets * WAYS];
+    this.referenced = new boolean[sets * WAYS];
+    this.hands = new byte[sets];
+    this.locks = new Object[Integer.min(sets, MAX_STRIPES)];
+    for (int i = 0; i < this.locks.length; i++) {
+      this.locks[i] = new Object();
+    }
+  }
+
+  /**
+   * Same as {@link PasswordStrength#score(CharSequence)}, scoring the password only if it isn't cached.
+   *
+   * @param password
+   * @return the packed score
+   */
+  public long score(CharSequence password) {
+    if (!isCacheable(password)) {
+      return PasswordScanner.forCurrentThread().scan(password).getPackedScore();
+    }
+
+    long fingerprint = SipHash.hash(SECRET_K0, SECRET_K1, password);
+    if (fingerprint == EMPTY) {
+      fingerprint = 1L;
+    }
+
+    int set = (int) fingerprint & this.setMask;
+    int base = set * WAYS;
+    Object lock = this.locks[set & (this.locks.length - 1)];
+
+    synchronized (lock) {
+      int way = this.find(base, fingerprint);
+      if (way >= 0) {
+        this.referenced[way] = true;
+        this.hits.increment();
+        return this.scores[way];
+      }
+    }
+
+    // Score outside the lock, a concurrent miss on the same password just scores it twice
+    this.misses.increment();
+    long score = PasswordScanner.forCurrentThread().scan(password).getPackedScore();
+
+    synchronized (lock) {
+      int way = this.find(base, fingerprint);
+      if (way < 0) {
+        way = this.victim(set);
+      }
+      this.fingerprints[way] = fingerprint;
+      this.scores[way] = score;
+      this.referenced[way] = false;
+    }
+    return score;
+  }
+
+  public boolean isPasswordPermissible(CharSequence password, int maxAllowedRepetitionCount,
+                                       int maxAllowedSequenceLength) {
+    if (!isCacheable(password)) {
+      return PasswordScanner.forCurrentThread().scanWithin(password, maxAllowedRepetitionCount,
+          maxAllowedSequenceLength);
+    }
+    return PasswordScore.isPermissible(this.score(password), maxAllowedRepetitionCount, maxAllowedSequenceLength);
+  }
+
+  /**
+   * Same as {@link PasswordPolicy#check(CharSequence)}, through the cache.
+   *
+   * @param policy
+   * @param password
+   * @return true if the password is within the policy's limits
+   */
+  public boolean check(PasswordPolicy policy, CharSequence password) {
+    return this.isPasswordPermissible(password, policy.getMaxAllowedRepetitionCount(),
+        policy.getMaxAllowedSequenceLength());
+  }
+
+  public long getHitCount() {
+    return this.hits.sum();
+  }
+
+  public long getMissCount() {
+    return this.misses.sum();
+  }
+
+  /**
+   * @return the number of entries the cache can hold
+   */
+  public int capacity() {
+    return this.fingerprints.length;
+  }
+
+  /**
+   * Drop every entry. The hit and miss counts are kept.
+   */
+  public void clear() {
+    for (int set = 0; set <= this.setMask; set++) {
+      synchronized (this.locks[set & (this.locks.length - 1)]) {
+        Arrays.fill(this.fingerprints, set * WAYS, (set + 1) * WAYS, EMPTY);
+        Arrays.fill(this.referenced, set * WAYS, (set + 1) * WAYS, false);
+      }
+    }
+  }
+
+  // A score can't exceed the password's length, so below this length no packed field saturates
+  private static boolean isCacheable(CharSequence password) {
+    return password.length() < PasswordScore.MAX_FIELD_VALUE;
+  }
+
+  // Called with the set's lock held
+  private int find(int base, long fingerprint) {
+    for (int way = base; way < base + WAYS; way++) {
+      if (this.fingerprints[way] == fingerprint) {
+        return way;
+      }
+    }
+    return -1;
+  }
+
+  // Called with the set's lock held
+  private int victim(int set) {
+    int base = set * WAYS;
+    for (int way = base; way < base + WAYS; way++) {
+      if (this.fingerprints[way] == EMPTY) {
+        return way;
+      }
+    }
+
+    // Sweep the hand, giving each referenced entry a second chance, until it finds one that wasn't
+    int hand = this.hands[set];
+    while (this.referenced[base + hand]) {
+      this.referenced[base + hand] = false;
+      hand = (hand + 1) & (WAYS - 1);
+    }
+    this.hands[set] = (byte) ((hand + 1) & (WAYS - 1));
+    return base + hand;
+  }
+}
@@ -0,0 +1,43 @@
+package com.oc.codingtest;
+
+/**
+ * A password rule written as a per-char state machine, in the style of {@link SequenceState}.
+ * <p>
+ * Rules don't scan the password themselves. A {@link RuleEngine} walks the password once and feeds every char to
+ * every rule, so adding a rule adds a little work per char rather than another pass over the input.
+ * All mutable data lives in the state object, which lets one rule instance be shared between threads. Writing a
+ * rule as a record, like the built-in ones, lets the JIT fold its parameters into the compiled loop.
+ *
+ * @param <S> the mutable per-scan state
+ */
+public interface PasswordRule<S> {
+
+  /**
+   * @return a fresh state, as if reset
+   */
+  S newState();
+
+  /**
+   * Return the state to how {@link #newState()} made it, so it can be reused for the next password.
+   *
+   * @param state
+   */
+  void reset(S state);
+
+  /**
+   * Feed the next char of the password.
+   *
+   * @param state
+   * @param c
+   * @return false once the password can no longer satisfy the rule, whatever follows
+   */
+  boolean accept(S state, char c);
+
+  /**
+   * Called once every char has been accepted.
+   *
+   * @param state
+   * @return true if the password satisfies the rule
+   */
+  boolean finish(S state);
+}
@@ -0,0 +1,287 @@
+package com.oc.codingtest;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Fused evaluator that computes the repetition count and the max sequence length of a password in a single
+ * left-to-right pass, without building a lowercased copy of the input.
+ * <p>
+ * The repetition count is case-sensitive, so it is fed the raw char. The sequence check is case-insensitive, so it
+ * is fed the same char folded through {@link CharFold}.
+ */
+final class PasswordScanner {
+
+  // Scratch state is kept per thread so that scoring a password doesn't allocate
+  private static final ThreadLocal<PasswordScanner> scanners = ThreadLocal.withInitial(PasswordScanner::new);
+
+  private final RepetitionCounter repetitionCounter = new RepetitionCounter();
+  private final SequenceState sequenceState = new SequenceState();
+  private int length = 0;
+  private int countableCount = 0;
+
+  // Scratch space for the bulk sequence kernel, grown on demand
+  private int[] ordinals = new int[0];
+
+  /**
+   * @return the scanner reserved for the calling thread
+   */
+  static PasswordScanner forCurrentThread() {
+    return scanners.get();
+  }
+
+  /**
+   * Scan the whole password. The scanner is cleared first, so one instance can be reused for many passwords.
+   *
+   * @param password
+   * @return this scanner, holding the maxima for the password
+   */
+  public PasswordScanner scan(CharSequence password) {
+    this.clear();
+    for (int i = 0; i < password.length(); i++) {
+      this.accept(password.charAt(i));
+    }
+
+    return this;
+  }
+
+  /**
+   * Early-exit variant of {@link #scan(CharSequence)} for callers that only need a yes/no answer.
+   * Scanning stops at the first char that pushes either the repetition count or the current sequence length past
+   * its limit, so the maxima are only exact when this returns true.
+   *
+   * @param password
+   * @param maxAllowedRepetitionCount
+   * @param maxAllowedSequenceLength
+   * @return true if neither limit was exceeded
+   */
+  public boolean scanWithin(CharSequence password, int maxAllowedRepetitionCount, int maxAllowedSequenceLength) {
+    this.clear();
+    for (int i = 0; i < password.length(); i++) {
+      this.accept(password.charAt(i));
+
+      if (this.repetitionCounter.getMax() > maxAllowedRepetitionCount
+          || this.sequenceState.currentLen > maxAllowedSequenceLength) {
+        return false;
+      }
+    }
+
+    // Also covers empty input, which never enters the loop
+    return this.isWithin(maxAllowedRepetitionCount, maxAllowedSequenceLength);
+  }
+
+  /**
+   * Repetition-only variant of {@link #scanWithin(CharSequence, int, int)}.
+   */
+  public boolean repetitionsWithin(CharSequence password, int maxAllowedRepetitionCount) {
+    this.repetitionCounter.clear();
+    for (int i = 0; i < password.length(); i++) {
+      if (this.repetitionCounter.add(password.charAt(i)) > maxAllowedRepetitionCount) {
+        return false;
+      }
+    }
+
+    return this.repetitionCounter.getMax() <= maxAllowedRepetitionCount;
+  }
+
+  /**
+   * Sequence-only variant of {@link #scanWithin(CharSequence, int, int)}.
+   */
+  public boolean sequenceWithin(CharSequence password, int maxAllowedSequenceLength) {
+    this.sequenceState.clear();
+    for (int i = 0; i < password.length(); i++) {
+      this.sequenceState.nextOrdinal(CharFold.fold(password.charAt(i)));
+      if (this.sequenceState.currentLen > maxAllowedSequenceLength) {
+        return false;
+      }
+    }
+
+    return this.sequenceState.maxLen <= maxAllowedSequenceLength;
+  }
+
+  /**
+   * char[] variant of {@link #scanWithin(CharSequence, int, int)}.
+   */
+  public boolean scanWithin(char[] password, int offset, int length, int maxAllowedRepetitionCount,
+                            int maxAllowedSequenceLength) {
+    this.clear();
+    for (int i = offset; i < offset + length; i++) {
+      this.accept(password[i]);
+
+      if (this.repetitionCounter.getMax() > maxAllowedRepetitionCount
+          || this.sequenceState.currentLen > maxAllowedSequenceLength) {
+        return false;
+      }
+    }
+
+    return this.isWithin(maxAllowedRepetitionCount, maxAllowedSequenceLength);
+  }
+
+  /**
+   * UTF-8 variant of {@link #scanWithin(CharSequence, int, int)}, decoding as it scans.
+   * Pass {@link Integer#MAX_VALUE} limits to scan the whole input.
+   *
+   * @param bytes
+   * @param offset
+   * @param length
+   * @param maxAllowedRepetitionCount
+   * @param maxAllowedSequenceLength
+   * @return true if neither limit was exceeded
+   */
+  public boolean scanUtf8Within(byte[] bytes, int offset, int length, int maxAllowedRepetitionCount,
+                                int maxAllowedSequenceLength) {
+    this.clear();
+    int limit = offset + length;
+    int i = offset;
+    while (i < limit) {
+      byte b = bytes[i];
+      if (b >= 0) {
+        // ASCII fast path
+        this.accept((char) b);
+        i += 1;
+      } else {
+        int decoded = Utf8.decode(bytes, i, limit);
+        Utf8.accept(this, Utf8.codePoint(decoded));
+        i += Utf8.length(decoded);
+      }
+
+      if (this.repetitionCounter.getMax() > maxAllowedRepetitionCount
+          || this.sequenceState.currentLen > maxAllowedSequenceLength) {
+        return false;
+      }
+    }
+
+    return this.isWithin(maxAllowedRepetitionCount, maxAllowedSequenceLength);
+  }
+
+  /**
+   * UTF-8 variant of {@link #scanWithin(CharSequence, int, int)} for the bytes between the buffer's position and
+   * limit. Heap buffers are scanned through their backing array. The buffer's position is not changed.
+   *
+   * @param bytes
+   * @param maxAllowedRepetitionCount
+   * @param maxAllowedSequenceLength
+   * @return true if neither limit was exceeded
+   */
+  public boolean scanUtf8Within(ByteBuffer bytes, int maxAllowedRepetitionCount, int maxAllowedSequenceLength) {
+    if (bytes.hasArray()) {
+      return this.scanUtf8Within(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining(),
+          maxAllowedRepetitionCount, maxAllowedSequenceLength);
+    }
+
+    this.clear();
+    int limit = bytes.limit();
+    int i = bytes.position();
+    while (i < limit) {
+      byte b = bytes.get(i);
+      if (b >= 0) {
+        // ASCII fast path
+        this.accept((char) b);
+        i += 1;
+      } else {
+        int decoded = Utf8.decode(bytes, i, limit);
+        Utf8.accept(this, Utf8.codePoint(decoded));
+        i += Utf8.length(decoded);
+      }
+
+      if (this.repetitionCounter.getMax() > maxAllowedRepetitionCount
+          || this.sequenceState.currentLen > maxAllowedSequenceLength) {
+        return false;
+      }
+    }
+
+    return this.isWithin(maxAllowedRepetitionCount, maxAllowedSequenceLength);
+  }
+
+  private boolean isWithin(int maxAllowedRepetitionCount, int maxAllowedSequenceLength) {
+    return this.repetitionCounter.getMax() <= maxAllowedRepetitionCount
+        && this.sequenceState.maxLen <= maxAllowedSequenceLength;
+  }
+
+  public void accept(char c) {
+    this.repetitionCounter.add(c);
+
+    int ordinal = CharFold.fold(c);
+    this.sequenceState.nextOrdinal(ordinal);
+
+    this.length += 1;
+    if (ordinal != SequenceState.NO_CHAR) {
+      this.countableCount += 1;
+    }
+  }
+
+  /**
+   * Repetition-only scan, used when the sequence length is not needed.
+   *
+   * @param password
+   * @return the repetition count of the password
+   */
+  public int countRepetitions(CharSequence password) {
+    this.repetitionCounter.clear();
+    for (int i = 0; i < password.length(); i++) {
+      this.repetitionCounter.add(password.charAt(i));
+    }
+
+    return this.repetitionCounter.getMax();
+  }
+
+  /**
+   * char[] variant of {@link #countRepetitions(CharSequence)}.
+   */
+  public int countRepetitions(char[] password, int offset, int length) {
+    this.repetitionCounter.clear();
+    for (int i = offset; i < offset + length; i++) {
+      this.repetitionCounter.add(password[i]);
+    }
+
+    return this.repetitionCounter.getMax();
+  }
+
+  /**
+   * Sequence-only scan of a long password, using a bulk {@link SequenceKernel}. The folded chars are staged in a
+   * scratch array that is zeroed again before returning, so no trace of the password outlives the call.
+   *
+   * @param password
+   * @param kernel
+   * @return the max sequence length of the password
+   */
+  public int kernelSequenceLen(CharSequence password, SequenceKernel kernel) {
+    int length = password.length();
+    if (this.ordinals.length < length) {
+      this.ordinals = new int[length];
+    }
+
+    for (int i = 0; i < length; i++) {
+      this.ordinals[i] = CharFold.fold(password.charAt(i));
+    }
+
+    try {
+      return kernel.maxSequenceLen(this.ordinals, length);
+    } finally {
+      Arrays.fill(this.ordinals, 0, length, 0);
+    }
+  }
+
+  public void clear() {
+    this.repetitionCounter.clear();
+    this.sequenceState.clear();
+    this.length = 0;
+    this.countableCount = 0;
+  }
+
+  /**
+   * @return the scores of the last full scan, packed as a {@link PasswordScore}
+   */
+  public long getPackedScore() {
+    return PasswordScore.pack(this.repetitionCounter.getMax(), this.sequenceState.maxLen, this.length,
+        this.countableCount);
+  }
+
+  public int getMaxRepetitionCount() {
+    return this.repetitionCounter.getMax();
+  }
+
+  public int getMaxSequenceLen() {
+    return this.sequenceState.maxLen;
+  }
+}
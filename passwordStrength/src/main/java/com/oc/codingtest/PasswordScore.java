@@ -0,0 +1,84 @@
+package com.oc.codingtest;
+
+/**
+ * Packs the scores of one password into a single long, so results can be passed around and stored in a long[]
+ * without an object per password.
+ * <p>
+ * The long holds four unsigned 16-bit fields, from the lowest bits up: the repetition count, the max sequence
+ * length, the length in chars and the number of countable (alphanumeric) chars. Values above 65535 are stored as
+ * 65535, which only happens for passwords longer than that. A field holding 65535 is saturated: it only says the
+ * real value is at least that much.
+ */
+public final class PasswordScore {
+
+  public static final int MAX_FIELD_VALUE = 0xffff;
+
+  private static final int REPETITION_SHIFT = 0;
+  private static final int SEQUENCE_SHIFT = 16;
+  private static final int LENGTH_SHIFT = 32;
+  private static final int COUNTABLE_SHIFT = 48;
+
+  private PasswordScore() {
+  }
+
+  public static long pack(int maxRepetitionCount, int maxSequenceLen, int length, int countableCount) {
+    return field(maxRepetitionCount, REPETITION_SHIFT)
+        | field(maxSequenceLen, SEQUENCE_SHIFT)
+        | field(length, LENGTH_SHIFT)
+        | field(countableCount, COUNTABLE_SHIFT);
+  }
+
+  public static int maxRepetitionCount(long score) {
+    return get(score, REPETITION_SHIFT);
+  }
+
+  public static int maxSequenceLen(long score) {
+    return get(score, SEQUENCE_SHIFT);
+  }
+
+  public static int length(long score) {
+    return get(score, LENGTH_SHIFT);
+  }
+
+  public static int countableCount(long score) {
+    return get(score, COUNTABLE_SHIFT);
+  }
+
+  /**
+   * Check a score against a policy's limits. A saturated field, see {@link #MAX_FIELD_VALUE}, could hide any larger
+   * value, so it only passes a limit of {@link Integer#MAX_VALUE}. Passwords of 65535 chars or more may therefore be
+   * refused here that a full scan would accept; score those with
+   * {@link PasswordStrength#isPasswordPermissible(CharSequence, int, int)} instead.
+   *
+   * @param score
+   * @param maxAllowedRepetitionCount
+   * @param maxAllowedSequenceLength
+   * @return true if both fields are known to be within the limits
+   */
+  public static boolean isPermissible(long score, int maxAllowedRepetitionCount, int maxAllowedSequenceLength) {
+    return isWithin(maxRepetitionCount(score), maxAllowedRepetitionCount)
+        && isWithin(maxSequenceLen(score), maxAllowedSequenceLength);
+  }
+
+  public static String toString(long score) {
+    return "PasswordScore{maxRepetitionCount=" + maxRepetitionCount(score)
+        + ", maxSequenceLen=" + maxSequenceLen(score)
+        + ", length=" + length(score)
+        + ", countableCount=" + countableCount(score) + "}";
+  }
+
+  private static long field(int value, int shift) {
+    if (value < 0) {
+      throw new IllegalArgumentException("Score fields must not be negative: " + value);
+    }
+    return (long) Integer.min(value, MAX_FIELD_VALUE) << shift;
+  }
+
+  private static boolean isWithin(int value, int limit) {
+    return value < MAX_FIELD_VALUE ? value <= limit : limit == Integer.MAX_VALUE;
+  }
+
+  private static int get(long score, int shift) {
+    return (int) (score >>> shift) & MAX_FIELD_VALUE;
+  }
+}
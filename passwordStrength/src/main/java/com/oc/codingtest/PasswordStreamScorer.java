@@ -0,0 +1,131 @@
+package com.oc.codingtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Scores newline-delimited passwords straight from a character or byte stream.
+ * <p>
+ * Decoded chars are fed into a single reused {@link PasswordScanner} as they come out of the read buffer, so no
+ * String is created per line. Lines end at "\n" or "\r\n", and a final line without a terminator is still scored.
+ * An instance is not thread-safe, use one per stream.
+ */
+public final class PasswordStreamScorer {
+
+  /**
+   * Receives the score of each line, in input order.
+   */
+  @FunctionalInterface
+  public interface LineScoreConsumer {
+    void accept(long lineNumber, int maxRepetitionCount, int maxSequenceLen, boolean permissible);
+  }
+
+  private static final int BUFFER_SIZE = 8192;
+
+  private final int maxAllowedRepetitionCount;
+  private final int maxAllowedSequenceLength;
+  private final PasswordScanner scanner = new PasswordScanner();
+  private final char[] buffer = new char[BUFFER_SIZE];
+
+  public PasswordStreamScorer(int maxAllowedRepetitionCount, int maxAllowedSequenceLength) {
+    if (maxAllowedRepetitionCount < 0 || maxAllowedSequenceLength < 0) {
+      throw new IllegalArgumentException("Limits must not be negative: repetition " + maxAllowedRepetitionCount
+          + ", sequence " + maxAllowedSequenceLength);
+    }
+    this.maxAllowedRepetitionCount = maxAllowedRepetitionCount;
+    this.maxAllowedSequenceLength = maxAllowedSequenceLength;
+  }
+
+  /**
+   * Score every line of a UTF-8 file.
+   *
+   * @param path
+   * @param consumer
+   * @return the number of lines scored
+   * @throws IOException
+   */
+  public long score(Path path, LineScoreConsumer consumer) throws IOException {
+    try (InputStream in = Files.newInputStream(path)) {
+      return score(in, consumer);
+    }
+  }
+
+  /**
+   * Score every line of a UTF-8 byte stream. Malformed input is replaced rather than reported.
+   * The stream is not closed.
+   *
+   * @param in
+   * @param consumer
+   * @return the number of lines scored
+   * @throws IOException
+   */
+  public long score(InputStream in, LineScoreConsumer consumer) throws IOException {
+    return score(new InputStreamReader(in, StandardCharsets.UTF_8), consumer);
+  }
+
+  /**
+   * Score every line of a character stream. The reader is not closed.
+   *
+   * @param reader
+   * @param consumer
+   * @return the number of lines scored
+   * @throws IOException
+   */
+  public long score(Reader reader, LineScoreConsumer consumer) throws IOException {
+    long lineNumber = 0;
+    int lineLength = 0;
+    boolean pendingCarriageReturn = false;
+    this.scanner.clear();
+
+    int read;
+    while ((read = reader.read(this.buffer)) != -1) {
+      for (int i = 0; i < read; i++) {
+        char c = this.buffer[i];
+
+        // A '\r' is only part of the line terminator if a '\n' follows it, which may be in the next buffer
+        if (pendingCarriageReturn) {
+          pendingCarriageReturn = false;
+          if (c != '\n') {
+            this.scanner.accept('\r');
+            lineLength += 1;
+          }
+        }
+
+        if (c == '\n') {
+          this.emit(++lineNumber, consumer);
+          lineLength = 0;
+        } else if (c == '\r') {
+          pendingCarriageReturn = true;
+        } else {
+          this.scanner.accept(c);
+          lineLength += 1;
+        }
+      }
+    }
+
+    // A '\r' at the end of the input has no '\n' after it, so it is part of the last line
+    if (pendingCarriageReturn) {
+      this.scanner.accept('\r');
+      lineLength += 1;
+    }
+    if (lineLength > 0) {
+      this.emit(++lineNumber, consumer);
+    }
+
+    return lineNumber;
+  }
+
+  private void emit(long lineNumber, LineScoreConsumer consumer) {
+    int repetitionCount = this.scanner.getMaxRepetitionCount();
+    int sequenceLength = this.scanner.getMaxSequenceLen();
+
+    consumer.accept(lineNumber, repetitionCount, sequenceLength,
+        repetitionCount <= this.maxAllowedRepetitionCount && sequenceLength <= this.maxAllowedSequenceLength);
+    this.scanner.clear();
+  }
+}
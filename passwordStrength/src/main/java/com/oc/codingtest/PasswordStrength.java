@@ -3,100 +3,186 @@ package com.oc.codingtest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
 import java.util.*;
+import java.util.stream.IntStream;
 
-import static java.lang.Math.abs;
-
-class SequenceState {
-  enum SeqDirection {
-    ASC,
-    DESC,
-    NONE
-  }
-
-  public SeqDirection direction = SeqDirection.NONE;
-  public Optional<Integer> lastChar = Optional.empty();
-  public int maxLen = 0;
-  public int currentLen = 0;
-
-  public void nextChar(int c) {
-    if (isCountable(c)) {
-      // Get the last character or default to the current one
-      if (getDistance(c).isEmpty()) {
-        this.currentLen = 1;
-      } else {
-        if (this.isContinuing(c)) {
-          this.continueSeq(c);
-        } else {
-          this.reset();
-        }
-      }
+public class PasswordStrength {
 
-      this.lastChar = Optional.of(c);
-    } else {
-      this.handleNonCountable();
-    }
+  private static final Logger log = LoggerFactory.getLogger(PasswordStrength.class);
+
+  // Batches at least this big are split across the common fork-join pool
+  static final int PARALLEL_BATCH_THRESHOLD = 4096;
+
+  // Passwords at least this long have their sequences scored by the (SIMD when available) sequence kernel
+  static final int KERNEL_SEQUENCE_THRESHOLD = 1024;
+
+  // Passwords at least this long have their sequences scored as a parallel stream
+  static final int PARALLEL_SEQUENCE_THRESHOLD = 1 << 16;
+
+  // Passwords at least this long have their repetitions counted in parallel
+  static final int PARALLEL_REPETITION_THRESHOLD = 1 << 20;
 
-    this.maxLen = Integer.max(this.currentLen, this.maxLen);
+  private final PasswordResultCache cache;
+
+  public PasswordStrength() {
+    this(null);
   }
 
-  private Optional<Integer> getDistance(int c) {
-    return this.lastChar.map(last -> last - c);
+  /**
+   * @param cache checked by the String, CharSequence and char[] variants of
+   *              {@link #isPasswordPermissible(String, int, int)} before scoring, or null for no cache
+   */
+  public PasswordStrength(PasswordResultCache cache) {
+    this.cache = cache;
   }
 
-  private SeqDirection getDirection(int c) {
-    Optional<Integer> distance = getDistance(c);
+  public boolean isPasswordPermissible(String password, int maxAllowedRepetitionCount, int maxAllowedSequenceLength) {
+    // This method accepts a password (String) and calculates two password strength parameters:
+    // Repetition count and Max Sequence length
+    // Both are computed in a single pass over the password rather than one pass per parameter, and the pass stops
+    // as soon as either limit is exceeded.
+    return isPasswordPermissible((CharSequence) password, maxAllowedRepetitionCount, maxAllowedSequenceLength);
+  }
 
-    if (distance.isEmpty() || distance.get() == 0) {
-      return SeqDirection.NONE;
-    } else if (distance.get() > 0) {
-      return SeqDirection.DESC;
-    } else {
-      return SeqDirection.ASC;
+  /**
+   * {@link CharSequence} variant of {@link #isPasswordPermissible(String, int, int)}, eg: for a {@link CharBuffer}
+   * from a decoder. The chars are read in place.
+   *
+   * @param password
+   * @param maxAllowedRepetitionCount
+   * @param maxAllowedSequenceLength
+   * @return
+   */
+  public boolean isPasswordPermissible(CharSequence password, int maxAllowedRepetitionCount,
+                                       int maxAllowedSequenceLength) {
+    if (this.cache != null) {
+      return this.cache.isPasswordPermissible(password, maxAllowedRepetitionCount, maxAllowedSequenceLength);
     }
+    return PasswordScanner.forCurrentThread().scanWithin(password, maxAllowedRepetitionCount,
+        maxAllowedSequenceLength);
   }
 
-  private boolean isContinuing(int c) {
-    Optional<Integer> distance = getDistance(c);
-    return distance.isPresent() && abs(distance.get()) == 1;
+  /**
+   * char[] variant of {@link #isPasswordPermissible(String, int, int)}, eg: for the contents of a password field.
+   * The chars are read in place, so the caller can clear the array afterwards.
+   *
+   * @param password
+   * @param offset
+   * @param length
+   * @param maxAllowedRepetitionCount
+   * @param maxAllowedSequenceLength
+   * @return
+   */
+  public boolean isPasswordPermissible(char[] password, int offset, int length, int maxAllowedRepetitionCount,
+                                       int maxAllowedSequenceLength) {
+    Objects.checkFromIndexSize(offset, length, password.length);
+    if (this.cache != null) {
+      return this.cache.isPasswordPermissible(CharBuffer.wrap(password, offset, length), maxAllowedRepetitionCount,
+          maxAllowedSequenceLength);
+    }
+    return PasswordScanner.forCurrentThread().scanWithin(password, offset, length, maxAllowedRepetitionCount,
+        maxAllowedSequenceLength);
   }
 
-  private static boolean isCountable(int c) {
-    return Character.isAlphabetic(c) || Character.isDigit(c);
+  /**
+   * UTF-8 variant of {@link #isPasswordPermissible(String, int, int)}.
+   * The bytes are decoded as they are scored, with a fast path for ASCII, so no String is created.
+   * Malformed bytes are replaced with U+FFFD exactly as {@code new String(utf8, UTF_8)} would replace them, so they
+   * score the same as that String. The cache, if any, is not consulted.
+   *
+   * @param utf8
+   * @param offset
+   * @param length
+   * @param maxAllowedRepetitionCount
+   * @param maxAllowedSequenceLength
+   * @return
+   */
+  public boolean isPasswordPermissible(byte[] utf8, int offset, int length, int maxAllowedRepetitionCount,
+                                       int maxAllowedSequenceLength) {
+    Objects.checkFromIndexSize(offset, length, utf8.length);
+    return PasswordScanner.forCurrentThread().scanUtf8Within(utf8, offset, length, maxAllowedRepetitionCount,
+        maxAllowedSequenceLength);
   }
 
-  private void continueSeq(int c) {
-    SeqDirection currentDirection = getDirection(c);
-    if (this.direction == SeqDirection.NONE || currentDirection == this.direction) {
-      this.currentLen += 1;
-    } else {
-      this.currentLen = 2;
-    }
-
-    this.direction = currentDirection;
+  /**
+   * UTF-8 variant of {@link #isPasswordPermissible(String, int, int)} for the bytes between the buffer's position
+   * and limit. The buffer's position is not changed. The cache, if any, is not consulted.
+   *
+   * @param utf8
+   * @param maxAllowedRepetitionCount
+   * @param maxAllowedSequenceLength
+   * @return
+   */
+  public boolean isPasswordPermissible(ByteBuffer utf8, int maxAllowedRepetitionCount, int maxAllowedSequenceLength) {
+    return PasswordScanner.forCurrentThread().scanUtf8Within(utf8, maxAllowedRepetitionCount,
+        maxAllowedSequenceLength);
   }
 
-  private void reset() {
-    this.currentLen = 1;
-    this.direction = SeqDirection.NONE;
+  /**
+   * Score a batch of passwords in one call.
+   * Each password gets its exact repetition count and max sequence length, and whether both are within the limits.
+   * Scratch state is reused across the batch, and large batches are scored in parallel.
+   *
+   * @param passwords
+   * @param maxAllowedRepetitionCount
+   * @param maxAllowedSequenceLength
+   * @return the scores, indexed like passwords
+   */
+  public BatchResult scoreAll(String[] passwords, int maxAllowedRepetitionCount, int maxAllowedSequenceLength) {
+    return scoreAll(Arrays.asList(passwords), maxAllowedRepetitionCount, maxAllowedSequenceLength);
   }
 
-  private void handleNonCountable() {
-    this.lastChar = Optional.empty();
-    this.currentLen = 0;
-    this.direction = SeqDirection.NONE;
+  /**
+   * @see #scoreAll(String[], int, int)
+   */
+  public BatchResult scoreAll(List<? extends CharSequence> passwords, int maxAllowedRepetitionCount,
+                              int maxAllowedSequenceLength) {
+    BatchResult result = new BatchResult(passwords.size());
+
+    // Each fork-join worker picks up its own thread-local scanner, so scratch state is never shared
+    batchIndexes(passwords.size()).forEach(i -> {
+      PasswordScanner scanner = PasswordScanner.forCurrentThread().scan(passwords.get(i));
+      int repetitionCount = scanner.getMaxRepetitionCount();
+      int sequenceLength = scanner.getMaxSequenceLen();
+
+      result.set(i, repetitionCount, sequenceLength,
+          repetitionCount <= maxAllowedRepetitionCount && sequenceLength <= maxAllowedSequenceLength);
+    });
+
+    return result;
   }
-}
 
-public class PasswordStrength {
+  /**
+   * Score a password, returning all of its scores packed into one long.
+   * Read the fields with the {@link PasswordScore} accessors. Fields saturate at {@link PasswordScore#MAX_FIELD_VALUE}
+   * for passwords of that length or more, see {@link PasswordScore#isPermissible(long, int, int)}.
+   *
+   * @param password
+   * @return the packed score
+   */
+  public long score(CharSequence password) {
+    return PasswordScanner.forCurrentThread().scan(password).getPackedScore();
+  }
 
-  private static final Logger log = LoggerFactory.getLogger(PasswordStrength.class);
+  /**
+   * Batch variant of {@link #score(CharSequence)}, storing the packed scores in a long[] indexed like passwords.
+   * Large batches are scored in parallel. Long passwords saturate their fields as in {@link #score(CharSequence)}.
+   *
+   * @param passwords
+   * @return the packed scores
+   */
+  public long[] scoreAllPacked(List<? extends CharSequence> passwords) {
+    long[] scores = new long[passwords.size()];
+    batchIndexes(passwords.size())
+        .forEach(i -> scores[i] = PasswordScanner.forCurrentThread().scan(passwords.get(i)).getPackedScore());
+    return scores;
+  }
 
-  public boolean isPasswordPermissible(String password, int maxAllowedRepetitionCount, int maxAllowedSequenceLength) {
-    // This method accepts a password (String) and calculates two password strength parameters:
-    // Repetition count and Max Sequence length
-    return getMaxRepetitionCount(password) <= maxAllowedRepetitionCount
-        && getMaxSequenceLen(password) <= maxAllowedSequenceLength;
+  private static IntStream batchIndexes(int size) {
+    IntStream indexes = IntStream.range(0, size);
+    return size >= PARALLEL_BATCH_THRESHOLD ? indexes.parallel() : indexes;
   }
 
   /**
@@ -111,23 +197,68 @@ public class PasswordStrength {
    * @return
    */
   public int getMaxRepetitionCount(String password) {
-    // Generate a frequency map of the characters/codepoints in the password string using Java streams.
-    HashMap<Integer, Integer> frequencyMap = password
-        .chars()
-        .collect(
-            HashMap::new,
-            (HashMap<Integer, Integer> acc, int c) -> {
-              acc.merge(c, 1, Integer::sum);
-            },
-            (HashMap<Integer, Integer> a, HashMap<Integer, Integer> b) ->
-                b.forEach((k, v) -> a.merge(k, v, Integer::sum))
-        );
+    return getMaxRepetitionCount((CharSequence) password);
+  }
 
-    /**
-     * Get a stream of the frequency counts and use .max to find the highest count.
-     * `.orElse` is necessary because `.max` returns an optional value.
-     */
-    return frequencyMap.values().stream().max(Integer::compareTo).orElse(0);
+  /**
+   * {@link CharSequence} variant of {@link #getMaxRepetitionCount(String)}. The chars are read in place.
+   *
+   * @param password
+   * @return
+   */
+  public int getMaxRepetitionCount(CharSequence password) {
+    // Count the characters of the password with a primitive counter that tracks the highest count as it goes,
+    // so there is no frequency map to box into or to stream over afterwards.
+    // Very long inputs are instead split across cores, each counting into its own flat histogram.
+    if (password.length() >= PARALLEL_REPETITION_THRESHOLD) {
+      return ParallelRepetitionCounter.count(password);
+    }
+
+    return PasswordScanner.forCurrentThread().countRepetitions(password);
+  }
+
+  /**
+   * char[] variant of {@link #getMaxRepetitionCount(String)}. The chars are read in place.
+   *
+   * @param password
+   * @param offset
+   * @param length
+   * @return
+   */
+  public int getMaxRepetitionCount(char[] password, int offset, int length) {
+    Objects.checkFromIndexSize(offset, length, password.length);
+    if (length >= PARALLEL_REPETITION_THRESHOLD) {
+      return ParallelRepetitionCounter.count(CharBuffer.wrap(password, offset, length));
+    }
+
+    return PasswordScanner.forCurrentThread().countRepetitions(password, offset, length);
+  }
+
+  /**
+   * UTF-8 variant of {@link #getMaxRepetitionCount(String)}, counting the UTF-16 chars the bytes decode to.
+   *
+   * @param utf8
+   * @param offset
+   * @param length
+   * @return
+   */
+  public int getMaxRepetitionCount(byte[] utf8, int offset, int length) {
+    Objects.checkFromIndexSize(offset, length, utf8.length);
+    PasswordScanner scanner = PasswordScanner.forCurrentThread();
+    scanner.scanUtf8Within(utf8, offset, length, Integer.MAX_VALUE, Integer.MAX_VALUE);
+    return scanner.getMaxRepetitionCount();
+  }
+
+  /**
+   * UTF-8 variant of {@link #getMaxRepetitionCount(String)} for the bytes between the buffer's position and limit.
+   *
+   * @param utf8
+   * @return
+   */
+  public int getMaxRepetitionCount(ByteBuffer utf8) {
+    PasswordScanner scanner = PasswordScanner.forCurrentThread();
+    scanner.scanUtf8Within(utf8, Integer.MAX_VALUE, Integer.MAX_VALUE);
+    return scanner.getMaxRepetitionCount();
   }
 
   /**
@@ -142,20 +273,95 @@ public class PasswordStrength {
    * Check the supplied password.  Return true if the repetition count and sequence length are below or equal to the
    * specified maximum.  Otherwise, return false.
    *
+   * Case is folded per char through the {@link CharFold} table rather than by lowercasing a copy of the password,
+   * so the locale- and context-sensitive mappings of {@link String#toLowerCase()} (eg: Turkish dotted I, Greek final
+   * sigma) don't apply.
+   *
    * @param password
    * @return
    */
   public int getMaxSequenceLen(String password) {
-    String normalisedPassword = password.toLowerCase();
+    return getMaxSequenceLen((CharSequence) password);
+  }
+
+  /**
+   * {@link CharSequence} variant of {@link #getMaxSequenceLen(String)}. The chars are read in place.
+   *
+   * @param password
+   * @return
+   */
+  public int getMaxSequenceLen(CharSequence password) {
+    if (password.length() < KERNEL_SEQUENCE_THRESHOLD) {
+      SequenceState state = new SequenceState();
+      for (int i = 0; i < password.length(); i++) {
+        state.nextOrdinal(CharFold.fold(password.charAt(i)));
+      }
+      return state.maxLen;
+    }
+
+    if (password.length() < PARALLEL_SEQUENCE_THRESHOLD) {
+      return PasswordScanner.forCurrentThread().kernelSequenceLen(password, SequenceKernel.best());
+    }
 
-    return normalisedPassword
+    // SequenceState can only grow to the right, so a parallel stream collects into summaries that also know about
+    // the runs at their left edge. Those combine exactly, including sequences that cross a split.
+    return password
         .chars()
+        .parallel()
+        .map(c -> CharFold.fold((char) c))
         .collect(
-            SequenceState::new,
-            SequenceState::nextChar,
-            (a, b) -> {
-              a.maxLen = Integer.max(a.maxLen, b.maxLen);
-            }
-        ).maxLen;
+            SequenceSummary::new,
+            SequenceSummary::accept,
+            SequenceSummary::combine
+        ).getMaxLen();
+  }
+
+  /**
+   * char[] variant of {@link #getMaxSequenceLen(String)}. The chars are read in place.
+   *
+   * @param password
+   * @param offset
+   * @param length
+   * @return
+   */
+  public int getMaxSequenceLen(char[] password, int offset, int length) {
+    Objects.checkFromIndexSize(offset, length, password.length);
+    if (length >= KERNEL_SEQUENCE_THRESHOLD) {
+      // Long inputs go through the bulk paths, where a view over the array costs nothing by comparison
+      return getMaxSequenceLen(CharBuffer.wrap(password, offset, length));
+    }
+
+    SequenceState state = new SequenceState();
+    for (int i = offset; i < offset + length; i++) {
+      state.nextOrdinal(CharFold.fold(password[i]));
+    }
+    return state.maxLen;
+  }
+
+  /**
+   * UTF-8 variant of {@link #getMaxSequenceLen(String)}.
+   *
+   * @param utf8
+   * @param offset
+   * @param length
+   * @return
+   */
+  public int getMaxSequenceLen(byte[] utf8, int offset, int length) {
+    Objects.checkFromIndexSize(offset, length, utf8.length);
+    PasswordScanner scanner = PasswordScanner.forCurrentThread();
+    scanner.scanUtf8Within(utf8, offset, length, Integer.MAX_VALUE, Integer.MAX_VALUE);
+    return scanner.getMaxSequenceLen();
+  }
+
+  /**
+   * UTF-8 variant of {@link #getMaxSequenceLen(String)} for the bytes between the buffer's position and limit.
+   *
+   * @param utf8
+   * @return
+   */
+  public int getMaxSequenceLen(ByteBuffer utf8) {
+    PasswordScanner scanner = PasswordScanner.forCurrentThread();
+    scanner.scanUtf8Within(utf8, Integer.MAX_VALUE, Integer.MAX_VALUE);
+    return scanner.getMaxSequenceLen();
   }
 }
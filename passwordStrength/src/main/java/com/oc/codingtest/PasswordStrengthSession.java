@@ -0,0 +1,144 @@
+package com.oc.codingtest;
+
+import java.util.Arrays;
+
+/**
+ * Keystroke-level password scoring for live strength meters.
+ * <p>
+ * The session is fed one char at a time with {@link #append(char)} and {@link #deleteLast()}, and knows the current
+ * repetition count and max sequence length at any moment. Both edits are O(1) amortised, so typing a password of
+ * length n costs O(n) in total rather than rescoring the whole password on every key.
+ * <p>
+ * Repetitions are tracked with a {@link RepetitionCounter} plus a count of how many chars have each count, which is
+ * enough to lower the max when the last char is deleted. Sequences are tracked with a {@link SequenceState}, whose
+ * fields are pushed onto a stack before every append and popped back on delete.
+ * <p>
+ * A session holds the typed chars, so call {@link #clear()} when done with it. It is not thread-safe.
+ */
+public final class PasswordStrengthSession {
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private final RepetitionCounter repetitionCounter = new RepetitionCounter();
+  private final SequenceState sequenceState = new SequenceState();
+
+  private char[] chars = new char[INITIAL_CAPACITY];
+  private int length = 0;
+
+  // countFrequencies[k] is the number of distinct chars that currently occur exactly k times
+  private int[] countFrequencies = new int[INITIAL_CAPACITY + 1];
+  private int maxRepetitionCount = 0;
+
+  // SequenceState fields as they were before each char was appended
+  private int[] previousLastChars = new int[INITIAL_CAPACITY];
+  private int[] previousDirections = new int[INITIAL_CAPACITY];
+  private int[] previousCurrentLens = new int[INITIAL_CAPACITY];
+  private int[] previousMaxLens = new int[INITIAL_CAPACITY];
+
+  public void append(char c) {
+    if (this.length == this.chars.length) {
+      this.grow();
+    }
+
+    this.previousLastChars[this.length] = this.sequenceState.lastChar;
+    this.previousDirections[this.length] = this.sequenceState.direction;
+    this.previousCurrentLens[this.length] = this.sequenceState.currentLen;
+    this.previousMaxLens[this.length] = this.sequenceState.maxLen;
+    this.sequenceState.nextOrdinal(CharFold.fold(c));
+
+    int count = this.repetitionCounter.add(c);
+    if (count > 1) {
+      this.countFrequencies[count - 1] -= 1;
+    }
+    this.countFrequencies[count] += 1;
+    this.maxRepetitionCount = Integer.max(this.maxRepetitionCount, count);
+
+    this.chars[this.length++] = c;
+  }
+
+  /**
+   * Remove the last char, as for a backspace. Does nothing when the session is empty.
+   */
+  public void deleteLast() {
+    if (this.length == 0) {
+      return;
+    }
+
+    this.length -= 1;
+    char c = this.chars[this.length];
+    this.chars[this.length] = 0;
+
+    this.sequenceState.lastChar = this.previousLastChars[this.length];
+    this.sequenceState.direction = this.previousDirections[this.length];
+    this.sequenceState.currentLen = this.previousCurrentLens[this.length];
+    this.sequenceState.maxLen = this.previousMaxLens[this.length];
+    this.previousLastChars[this.length] = 0;
+    this.previousDirections[this.length] = 0;
+    this.previousCurrentLens[this.length] = 0;
+    this.previousMaxLens[this.length] = 0;
+
+    int count = this.repetitionCounter.remove(c);
+    this.countFrequencies[count + 1] -= 1;
+    if (count > 0) {
+      this.countFrequencies[count] += 1;
+    }
+    // Counts only ever move by one, so the max drops by at most one
+    if (this.countFrequencies[this.maxRepetitionCount] == 0) {
+      this.maxRepetitionCount -= 1;
+    }
+  }
+
+  /**
+   * Forget all typed chars, wiping them from memory: the chars themselves, the sequence history that holds their
+   * lowercased forms, and the repetition counter's keys.
+   */
+  public void clear() {
+    Arrays.fill(this.chars, 0, this.length, (char) 0);
+    Arrays.fill(this.previousLastChars, 0, this.length, 0);
+    Arrays.fill(this.previousDirections, 0, this.length, 0);
+    Arrays.fill(this.previousCurrentLens, 0, this.length, 0);
+    Arrays.fill(this.previousMaxLens, 0, this.length, 0);
+    Arrays.fill(this.countFrequencies, 0);
+    this.length = 0;
+    this.maxRepetitionCount = 0;
+    this.repetitionCounter.wipe();
+    this.sequenceState.clear();
+  }
+
+  public int length() {
+    return this.length;
+  }
+
+  public int getMaxRepetitionCount() {
+    return this.maxRepetitionCount;
+  }
+
+  public int getMaxSequenceLen() {
+    return this.sequenceState.maxLen;
+  }
+
+  public boolean isPermissible(int maxAllowedRepetitionCount, int maxAllowedSequenceLength) {
+    return this.maxRepetitionCount <= maxAllowedRepetitionCount
+        && this.sequenceState.maxLen <= maxAllowedSequenceLength;
+  }
+
+  private void grow() {
+    int capacity = this.chars.length * 2;
+    char[] grown = Arrays.copyOf(this.chars, capacity);
+    Arrays.fill(this.chars, (char) 0);
+    this.chars = grown;
+
+    this.countFrequencies = Arrays.copyOf(this.countFrequencies, capacity + 1);
+    this.previousLastChars = growHistory(this.previousLastChars, capacity);
+    this.previousDirections = growHistory(this.previousDirections, capacity);
+    this.previousCurrentLens = growHistory(this.previousCurrentLens, capacity);
+    this.previousMaxLens = growHistory(this.previousMaxLens, capacity);
+  }
+
+  // Copies the history into a bigger array and zeroes the old one, which would otherwise keep the typed chars
+  private static int[] growHistory(int[] history, int capacity) {
+    int[] grown = Arrays.copyOf(history, capacity);
+    Arrays.fill(history, 0);
+    return grown;
+  }
+}
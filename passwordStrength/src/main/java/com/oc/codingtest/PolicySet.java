@@ -0,0 +1,97 @@
+package com.oc.codingtest;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Evaluates up to 64 {@link PasswordPolicy} tiers against a password at once.
+ * <p>
+ * The password is scanned once for its repetition count and max sequence length. Each limit is then turned into a
+ * bitmask with a binary search over the distinct limit values, which were sorted up front along with the mask of
+ * tiers allowing at least that value. So the cost is one scan plus O(log n) regardless of the number of tiers.
+ * The scan stops early, with no tiers satisfied, once the password exceeds the most lenient limits.
+ * <p>
+ * Immutable and thread-safe.
+ */
+public final class PolicySet {
+
+  public static final int MAX_POLICIES = Long.SIZE;
+
+  private final List<PasswordPolicy> policies;
+
+  // Distinct limits in ascending order, and for each one the mask of policies whose limit is at least that value
+  private final int[] repetitionLimits;
+  private final long[] repetitionMasks;
+  private final int[] sequenceLimits;
+  private final long[] sequenceMasks;
+
+  public PolicySet(PasswordPolicy... policies) {
+    this(List.of(policies));
+  }
+
+  public PolicySet(List<PasswordPolicy> policies) {
+    if (policies.isEmpty() || policies.size() > MAX_POLICIES) {
+      throw new IllegalArgumentException("Between 1 and " + MAX_POLICIES + " policies are supported, got "
+          + policies.size());
+    }
+    this.policies = List.copyOf(policies);
+
+    int[] repetitionLimits = new int[policies.size()];
+    int[] sequenceLimits = new int[policies.size()];
+    for (int i = 0; i < policies.size(); i++) {
+      repetitionLimits[i] = policies.get(i).getMaxAllowedRepetitionCount();
+      sequenceLimits[i] = policies.get(i).getMaxAllowedSequenceLength();
+    }
+
+    this.repetitionLimits = Arrays.stream(repetitionLimits).sorted().distinct().toArray();
+    this.repetitionMasks = masks(this.repetitionLimits, repetitionLimits);
+    this.sequenceLimits = Arrays.stream(sequenceLimits).sorted().distinct().toArray();
+    this.sequenceMasks = masks(this.sequenceLimits, sequenceLimits);
+  }
+
+  /**
+   * @param password
+   * @return a mask with bit i set if the password satisfies the i-th policy
+   */
+  public long evaluate(CharSequence password) {
+    PasswordScanner scanner = PasswordScanner.forCurrentThread();
+    int mostLenientRepetitionLimit = this.repetitionLimits[this.repetitionLimits.length - 1];
+    int mostLenientSequenceLimit = this.sequenceLimits[this.sequenceLimits.length - 1];
+
+    if (!scanner.scanWithin(password, mostLenientRepetitionLimit, mostLenientSequenceLimit)) {
+      return 0L;
+    }
+
+    return mask(this.repetitionLimits, this.repetitionMasks, scanner.getMaxRepetitionCount())
+        & mask(this.sequenceLimits, this.sequenceMasks, scanner.getMaxSequenceLen());
+  }
+
+  public int size() {
+    return this.policies.size();
+  }
+
+  public PasswordPolicy get(int index) {
+    return this.policies.get(index);
+  }
+
+  private static long[] masks(int[] distinctLimits, int[] limits) {
+    long[] masks = new long[distinctLimits.length];
+    for (int j = 0; j < distinctLimits.length; j++) {
+      for (int i = 0; i < limits.length; i++) {
+        if (limits[i] >= distinctLimits[j]) {
+          masks[j] |= 1L << i;
+        }
+      }
+    }
+    return masks;
+  }
+
+  private static long mask(int[] distinctLimits, long[] masks, int value) {
+    // The policies that allow value are those whose limit is the smallest limit >= value, or any larger one
+    int index = Arrays.binarySearch(distinctLimits, value);
+    if (index < 0) {
+      index = -index - 1;
+    }
+    return index < masks.length ? masks[index] : 0L;
+  }
+}
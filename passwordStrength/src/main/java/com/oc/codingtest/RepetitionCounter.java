@@ -0,0 +1,165 @@
+package com.oc.codingtest;
+
+import java.util.Arrays;
+
+/**
+ * Reusable frequency counter for chars/code points that tracks the highest count as it goes.
+ * <p>
+ * Latin-1 values are counted in a flat array. Anything above that (the rest of the BMP, surrogates, supplementary
+ * code points) goes into a small open-addressing table keyed by the primitive value, so nothing is boxed.
+ * Both parts are stamped with a generation number, which makes {@link #clear()} O(1) and lets one counter be reused
+ * for every password scored on a thread without allocating.
+ */
+final class RepetitionCounter {
+
+  private static final int DENSE_SIZE = 256;
+  private static final int INITIAL_SPARSE_CAPACITY = 16;
+
+  private final int[] denseCounts = new int[DENSE_SIZE];
+  private final int[] denseStamps = new int[DENSE_SIZE];
+
+  private int[] sparseKeys = new int[INITIAL_SPARSE_CAPACITY];
+  private int[] sparseCounts = new int[INITIAL_SPARSE_CAPACITY];
+  private int[] sparseStamps = new int[INITIAL_SPARSE_CAPACITY];
+  private int sparseSize = 0;
+
+  private int stamp = 1;
+  private int max = 0;
+
+  /**
+   * Count one more occurrence of c.
+   *
+   * @param c a char or code point
+   * @return the count of c including this occurrence
+   */
+  public int add(int c) {
+    int count;
+    if (c < DENSE_SIZE) {
+      if (this.denseStamps[c] != this.stamp) {
+        this.denseStamps[c] = this.stamp;
+        this.denseCounts[c] = 0;
+      }
+      count = ++this.denseCounts[c];
+    } else {
+      count = this.addSparse(c);
+    }
+
+    if (count > this.max) {
+      this.max = count;
+    }
+    return count;
+  }
+
+  /**
+   * Take back one occurrence of c, which must have been added before.
+   * This does not lower {@link #getMax()}, callers that remove values have to track the max themselves.
+   *
+   * @param c a char or code point
+   * @return the count of c after removing this occurrence
+   */
+  public int remove(int c) {
+    if (c < DENSE_SIZE) {
+      return --this.denseCounts[c];
+    }
+
+    int mask = this.sparseKeys.length - 1;
+    int slot = mix(c) & mask;
+    while (this.sparseKeys[slot] != c || this.sparseStamps[slot] != this.stamp) {
+      slot = (slot + 1) & mask;
+    }
+    // The slot stays occupied at count 0, so probe chains through it are not broken
+    return --this.sparseCounts[slot];
+  }
+
+  /**
+   * @return the number of occurrences of the most repeated value since the last {@link #clear()}
+   */
+  public int getMax() {
+    return this.max;
+  }
+
+  public void clear() {
+    this.max = 0;
+    this.sparseSize = 0;
+    this.stamp += 1;
+
+    if (this.stamp == 0) {
+      // The generation wrapped around, so old stamps could look current again
+      Arrays.fill(this.denseStamps, 0);
+      Arrays.fill(this.sparseStamps, 0);
+      this.stamp = 1;
+    }
+  }
+
+  /**
+   * Same as {@link #clear()}, but also zeroes every key and count, so no trace of the counted values is left in
+   * memory. This is O(capacity) rather than O(1).
+   */
+  public void wipe() {
+    Arrays.fill(this.denseCounts, 0);
+    Arrays.fill(this.denseStamps, 0);
+    Arrays.fill(this.sparseKeys, 0);
+    Arrays.fill(this.sparseCounts, 0);
+    Arrays.fill(this.sparseStamps, 0);
+    this.max = 0;
+    this.sparseSize = 0;
+    this.stamp = 1;
+  }
+
+  private int addSparse(int c) {
+    int mask = this.sparseKeys.length - 1;
+    int slot = mix(c) & mask;
+
+    while (this.sparseStamps[slot] == this.stamp) {
+      if (this.sparseKeys[slot] == c) {
+        return ++this.sparseCounts[slot];
+      }
+      slot = (slot + 1) & mask;
+    }
+
+    if ((this.sparseSize + 1) * 2 > this.sparseKeys.length) {
+      this.growSparse();
+      return this.addSparse(c);
+    }
+
+    this.sparseStamps[slot] = this.stamp;
+    this.sparseKeys[slot] = c;
+    this.sparseCounts[slot] = 1;
+    this.sparseSize += 1;
+    return 1;
+  }
+
+  private void growSparse() {
+    int[] oldKeys = this.sparseKeys;
+    int[] oldCounts = this.sparseCounts;
+    int[] oldStamps = this.sparseStamps;
+
+    int capacity = oldKeys.length * 2;
+    this.sparseKeys = new int[capacity];
+    this.sparseCounts = new int[capacity];
+    this.sparseStamps = new int[capacity];
+
+    int mask = capacity - 1;
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldStamps[i] == this.stamp) {
+        int slot = mix(oldKeys[i]) & mask;
+        while (this.sparseStamps[slot] == this.stamp) {
+          slot = (slot + 1) & mask;
+        }
+        this.sparseStamps[slot] = this.stamp;
+        this.sparseKeys[slot] = oldKeys[i];
+        this.sparseCounts[slot] = oldCounts[i];
+      }
+    }
+
+    // The old arrays are dropped, so don't leave the counted values behind in them
+    Arrays.fill(oldKeys, 0);
+    Arrays.fill(oldCounts, 0);
+    Arrays.fill(oldStamps, 0);
+  }
+
+  private static int mix(int c) {
+    int h = c * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+}
@@ -0,0 +1,43 @@
+package com.oc.codingtest;
+
+/**
+ * Built-in rule limiting how many times any one char may occur, as in
+ * {@link PasswordStrength#getMaxRepetitionCount(String)}.
+ *
+ * @param maxAllowedRepetitionCount
+ */
+public record RepetitionRule(int maxAllowedRepetitionCount) implements PasswordRule<RepetitionRule.State> {
+
+  public RepetitionRule {
+    if (maxAllowedRepetitionCount < 0) {
+      throw new IllegalArgumentException("Limit must not be negative: " + maxAllowedRepetitionCount);
+    }
+  }
+
+  @Override
+  public State newState() {
+    return new State();
+  }
+
+  @Override
+  public void reset(State state) {
+    state.counter.clear();
+  }
+
+  @Override
+  public boolean accept(State state, char c) {
+    return state.counter.add(c) <= this.maxAllowedRepetitionCount;
+  }
+
+  @Override
+  public boolean finish(State state) {
+    return state.counter.getMax() <= this.maxAllowedRepetitionCount;
+  }
+
+  /**
+   * Opaque per-scan state.
+   */
+  public static final class State {
+    final RepetitionCounter counter = new RepetitionCounter();
+  }
+}
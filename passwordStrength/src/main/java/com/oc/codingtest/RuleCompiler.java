@@ -0,0 +1,138 @@
+package com.oc.codingtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Compiles a rule set into a {@link RuleLoop} of its own, so the per-char calls in the hot loop are not
+ * megamorphic.
+ * <p>
+ * Every rule method is bound to its rule with {@link MethodHandle#bindTo(Object)}, and the handles are combined into
+ * balanced trees, eg: the early-exit accept is a tree of guardWithTest nodes. The trees are passed as class data to
+ * a fresh hidden class defined from the bytes of {@link RuleLoopTemplate}. The JIT treats any static final as a
+ * constant, and each hidden class has its own, so every engine's loop sees its own trees and the rules bound in them
+ * as constants, and can inline the exact rule methods.
+ * <p>
+ * The thresholds inside a rule only fold too if the JIT trusts the rule's instance fields not to change, which
+ * HotSpot does for records but not for the final fields of an ordinary class. So the built-in record rules fold
+ * fully, while a custom rule written as a plain class still gets its methods inlined but reads its fields on every
+ * call. Hidden classes are unloaded once their engine is unreachable.
+ */
+final class RuleCompiler {
+
+  private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+  private static final MethodHandle RESET;
+  private static final MethodHandle ACCEPT;
+  private static final MethodHandle FINISH;
+  private static final MethodHandle OR;
+  private static final MethodHandle STATE;
+
+  private static final byte[] TEMPLATE;
+
+  static {
+    try {
+      RESET = LOOKUP.findVirtual(PasswordRule.class, "reset", MethodType.methodType(void.class, Object.class));
+      ACCEPT = LOOKUP.findVirtual(PasswordRule.class, "accept",
+          MethodType.methodType(boolean.class, Object.class, char.class));
+      FINISH = LOOKUP.findVirtual(PasswordRule.class, "finish",
+          MethodType.methodType(boolean.class, Object.class));
+      OR = LOOKUP.findStatic(RuleCompiler.class, "or", MethodType.methodType(long.class, long.class, long.class));
+      STATE = MethodHandles.arrayElementGetter(Object[].class);
+    } catch (ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+
+    try (InputStream in = RuleCompiler.class.getResourceAsStream("RuleLoopTemplate.class")) {
+      if (in == null) {
+        throw new ExceptionInInitializerError("RuleLoopTemplate.class not found");
+      }
+      TEMPLATE = in.readAllBytes();
+    } catch (IOException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  private RuleCompiler() {
+  }
+
+  static RuleLoop compile(PasswordRule<?>[] rules) {
+    RuleLoop.Handles handles = new RuleLoop.Handles(
+        reset(rules, 0, rules.length),
+        acceptWhilePassing(rules, 0, rules.length),
+        acceptAll(rules, 0, rules.length),
+        failures(rules, 0, rules.length));
+
+    try {
+      MethodHandles.Lookup loop = LOOKUP.defineHiddenClassWithClassData(TEMPLATE, handles, true);
+      return (RuleLoop) loop.findConstructor(loop.lookupClass(), MethodType.methodType(void.class)).invoke();
+    } catch (Throwable t) {
+      throw new IllegalStateException("Could not compile rules", t);
+    }
+  }
+
+  static RuntimeException rethrow(Throwable t) {
+    if (t instanceof RuntimeException) {
+      return (RuntimeException) t;
+    }
+    if (t instanceof Error) {
+      throw (Error) t;
+    }
+    // Rules can't declare checked exceptions, so this only happens if one was sneaked through
+    return new IllegalStateException(t);
+  }
+
+  // (Object[])void
+  private static MethodHandle reset(PasswordRule<?>[] rules, int from, int to) {
+    if (to - from == 1) {
+      return onState(RESET.bindTo(rules[from]), from);
+    }
+    int mid = (from + to) >>> 1;
+    return MethodHandles.foldArguments(reset(rules, mid, to), reset(rules, from, mid));
+  }
+
+  // (Object[], char)boolean
+  private static MethodHandle acceptWhilePassing(PasswordRule<?>[] rules, int from, int to) {
+    if (to - from == 1) {
+      return onState(ACCEPT.bindTo(rules[from]), from);
+    }
+    int mid = (from + to) >>> 1;
+    MethodHandle fail = MethodHandles.dropArguments(MethodHandles.constant(boolean.class, false), 0,
+        Object[].class, char.class);
+    return MethodHandles.guardWithTest(acceptWhilePassing(rules, from, mid), acceptWhilePassing(rules, mid, to), fail);
+  }
+
+  // (Object[], char)void
+  private static MethodHandle acceptAll(PasswordRule<?>[] rules, int from, int to) {
+    if (to - from == 1) {
+      return MethodHandles.dropReturn(onState(ACCEPT.bindTo(rules[from]), from));
+    }
+    int mid = (from + to) >>> 1;
+    return MethodHandles.foldArguments(acceptAll(rules, mid, to), acceptAll(rules, from, mid));
+  }
+
+  // (Object[])long
+  private static MethodHandle failures(PasswordRule<?>[] rules, int from, int to) {
+    if (to - from == 1) {
+      MethodHandle pass = MethodHandles.dropArguments(MethodHandles.constant(long.class, 0L), 0, Object[].class);
+      MethodHandle fail = MethodHandles.dropArguments(MethodHandles.constant(long.class, 1L << from), 0,
+          Object[].class);
+      return MethodHandles.guardWithTest(onState(FINISH.bindTo(rules[from]), from), pass, fail);
+    }
+    int mid = (from + to) >>> 1;
+    MethodHandle both = MethodHandles.filterArguments(OR, 0, failures(rules, from, mid), failures(rules, mid, to));
+    return MethodHandles.permuteArguments(both, MethodType.methodType(long.class, Object[].class), 0, 0);
+  }
+
+  // Replaces the leading state argument of a bound rule method with the states array, read at the rule's index
+  private static MethodHandle onState(MethodHandle ruleMethod, int index) {
+    return MethodHandles.filterArguments(ruleMethod, 0, MethodHandles.insertArguments(STATE, 1, index));
+  }
+
+  private static long or(long a, long b) {
+    return a | b;
+  }
+}
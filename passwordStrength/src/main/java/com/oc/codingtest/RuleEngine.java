@@ -0,0 +1,82 @@
+package com.oc.codingtest;
+
+import java.util.List;
+
+/**
+ * Checks a password against any number of {@link PasswordRule}s in one pass.
+ * <p>
+ * The rules are fused into a single loop: each char is read once and handed to every rule before moving on, and
+ * {@link #test(CharSequence)} stops at the first char after which some rule can no longer pass. The loop is
+ * compiled for this engine's exact rule set when it is created, see {@link RuleCompiler}. Rule states are kept per
+ * thread and reset between passwords, like {@link PasswordScanner}, so checking allocates nothing.
+ * <p>
+ * Immutable and thread-safe, as long as the rules keep all mutable data in their states.
+ */
+public final class RuleEngine {
+
+  public static final int MAX_RULES = Long.SIZE;
+
+  private final PasswordRule<Object>[] rules;
+  private final RuleLoop loop;
+  private final ThreadLocal<Object[]> states = ThreadLocal.withInitial(this::newStates);
+
+  public RuleEngine(PasswordRule<?>... rules) {
+    this(List.of(rules));
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public RuleEngine(List<? extends PasswordRule<?>> rules) {
+    if (rules.isEmpty() || rules.size() > MAX_RULES) {
+      throw new IllegalArgumentException("Between 1 and " + MAX_RULES + " rules are supported, got "
+          + rules.size());
+    }
+    // Each state is only ever passed back to the rule that made it, so erasing the state type is safe
+    this.rules = rules.toArray(new PasswordRule[0]);
+    this.loop = RuleCompiler.compile(this.rules);
+  }
+
+  /**
+   * Rule engine with the built-in rules equivalent to a {@link PasswordPolicy}.
+   *
+   * @param policy
+   * @return an engine that passes the same passwords as {@link PasswordPolicy#check(CharSequence)}
+   */
+  public static RuleEngine of(PasswordPolicy policy) {
+    return new RuleEngine(new RepetitionRule(policy.getMaxAllowedRepetitionCount()),
+        new SequenceRule(policy.getMaxAllowedSequenceLength()));
+  }
+
+  /**
+   * @param password
+   * @return true if the password satisfies every rule
+   */
+  public boolean test(CharSequence password) {
+    return this.loop.test(password, this.states.get());
+  }
+
+  /**
+   * Like {@link #test(CharSequence)}, but reports which rules failed rather than stopping at the first one.
+   *
+   * @param password
+   * @return a mask with bit i set if the password fails the i-th rule
+   */
+  public long failures(CharSequence password) {
+    return this.loop.failures(password, this.states.get());
+  }
+
+  public int size() {
+    return this.rules.length;
+  }
+
+  public PasswordRule<?> get(int index) {
+    return this.rules[index];
+  }
+
+  private Object[] newStates() {
+    Object[] states = new Object[this.rules.length];
+    for (int r = 0; r < this.rules.length; r++) {
+      states[r] = this.rules[r].newState();
+    }
+    return states;
+  }
+}
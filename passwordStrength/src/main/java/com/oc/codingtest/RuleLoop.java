@@ -0,0 +1,26 @@
+package com.oc.codingtest;
+
+import java.lang.invoke.MethodHandle;
+
+/**
+ * The fused per-char loop over a fixed set of rules, as compiled by {@link RuleCompiler}.
+ * Both methods reset the states before scanning.
+ */
+interface RuleLoop {
+
+  boolean test(CharSequence password, Object[] states);
+
+  long failures(CharSequence password, Object[] states);
+
+  /**
+   * The method handles a compiled loop calls, passed to it as class data.
+   *
+   * @param reset (Object[])void, resets every state
+   * @param acceptWhilePassing (Object[], char)boolean, feeds the char to each rule until one can no longer pass
+   * @param acceptAll (Object[], char)void, feeds the char to every rule
+   * @param failures (Object[])long, finishes every rule and returns the mask of failed ones
+   */
+  record Handles(MethodHandle reset, MethodHandle acceptWhilePassing, MethodHandle acceptAll,
+                 MethodHandle failures) {
+  }
+}
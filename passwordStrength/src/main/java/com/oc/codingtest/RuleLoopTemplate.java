@@ -0,0 +1,61 @@
+package com.oc.codingtest;
+
+import java.lang.constant.ConstantDescs;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+
+/**
+ * Template for the hidden classes defined by {@link RuleCompiler}. This class itself is never loaded, only its
+ * bytes are, once per rule set, each time with that rule set's {@link RuleLoop.Handles} as class data.
+ * <p>
+ * The JIT treats static finals as constants. Because every rule set gets its own copy of this class, the handles
+ * below are that rule set's trees, so the JIT can inline them into the loop. How far the rules' own fields fold
+ * is up to the rules, see {@link RuleCompiler}.
+ */
+final class RuleLoopTemplate implements RuleLoop {
+
+  private static final MethodHandle RESET;
+  private static final MethodHandle ACCEPT_WHILE_PASSING;
+  private static final MethodHandle ACCEPT_ALL;
+  private static final MethodHandle FAILURES;
+
+  static {
+    try {
+      Handles handles = MethodHandles.classData(MethodHandles.lookup(), ConstantDescs.DEFAULT_NAME, Handles.class);
+      RESET = handles.reset();
+      ACCEPT_WHILE_PASSING = handles.acceptWhilePassing();
+      ACCEPT_ALL = handles.acceptAll();
+      FAILURES = handles.failures();
+    } catch (IllegalAccessException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  @Override
+  public boolean test(CharSequence password, Object[] states) {
+    try {
+      RESET.invokeExact(states);
+      for (int i = 0; i < password.length(); i++) {
+        if (!(boolean) ACCEPT_WHILE_PASSING.invokeExact(states, password.charAt(i))) {
+          return false;
+        }
+      }
+      return (long) FAILURES.invokeExact(states) == 0L;
+    } catch (Throwable t) {
+      throw RuleCompiler.rethrow(t);
+    }
+  }
+
+  @Override
+  public long failures(CharSequence password, Object[] states) {
+    try {
+      RESET.invokeExact(states);
+      for (int i = 0; i < password.length(); i++) {
+        ACCEPT_ALL.invokeExact(states, password.charAt(i));
+      }
+      return (long) FAILURES.invokeExact(states);
+    } catch (Throwable t) {
+      throw RuleCompiler.rethrow(t);
+    }
+  }
+}
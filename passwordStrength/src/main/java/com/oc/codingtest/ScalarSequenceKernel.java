@@ -0,0 +1,40 @@
+package com.oc.codingtest;
+
+/**
+ * Portable {@link SequenceKernel}: the {@link SequenceState} rules as a single loop over prepared ordinals.
+ */
+final class ScalarSequenceKernel implements SequenceKernel {
+
+  @Override
+  public int maxSequenceLen(int[] ordinals, int length) {
+    int maxLen = 0;
+    int currentLen = 0;
+    int direction = SequenceState.NONE;
+    int lastChar = SequenceState.NO_CHAR;
+
+    for (int i = 0; i < length; i++) {
+      int c = ordinals[i];
+
+      if (c == SequenceState.NO_CHAR) {
+        currentLen = 0;
+        direction = SequenceState.NONE;
+      } else if (lastChar == SequenceState.NO_CHAR) {
+        currentLen = 1;
+      } else {
+        int distance = c - lastChar;
+        if (distance == SequenceState.ASC || distance == SequenceState.DESC) {
+          currentLen = direction == SequenceState.NONE || distance == direction ? currentLen + 1 : 2;
+          direction = distance;
+        } else {
+          currentLen = 1;
+          direction = SequenceState.NONE;
+        }
+      }
+
+      lastChar = c;
+      maxLen = Integer.max(maxLen, currentLen);
+    }
+
+    return maxLen;
+  }
+}
@@ -0,0 +1,43 @@
+package com.oc.codingtest;
+
+/**
+ * Bulk max-sequence-length computation over an array of prepared ordinals, for long inputs.
+ * <p>
+ * Ordinals are lowercased chars, with every non-countable char replaced by {@link SequenceState#NO_CHAR}.
+ * Implementations must give the same answer as feeding the original chars through {@link SequenceState}.
+ */
+interface SequenceKernel {
+
+  /**
+   * @param ordinals prepared ordinals, which the kernel may overwrite as scratch space
+   * @param length   the number of ordinals to read
+   * @return the max sequence length
+   */
+  int maxSequenceLen(int[] ordinals, int length);
+
+  /**
+   * @return the SIMD kernel when jdk.incubator.vector is available at runtime, otherwise the scalar kernel
+   */
+  static SequenceKernel best() {
+    return Holder.BEST;
+  }
+
+  final class Holder {
+    private static final String VECTOR_KERNEL = "com.oc.codingtest.VectorSequenceKernel";
+
+    static final SequenceKernel BEST = load();
+
+    private Holder() {
+    }
+
+    private static SequenceKernel load() {
+      try {
+        return (SequenceKernel) Class.forName(VECTOR_KERNEL).getDeclaredConstructor().newInstance();
+      } catch (ReflectiveOperationException | LinkageError e) {
+        // Either the vector classes weren't built in, or the JVM was started without
+        // --add-modules jdk.incubator.vector
+        return new ScalarSequenceKernel();
+      }
+    }
+  }
+}
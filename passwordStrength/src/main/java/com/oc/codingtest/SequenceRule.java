@@ -0,0 +1,44 @@
+package com.oc.codingtest;
+
+/**
+ * Built-in rule limiting the longest ascending/descending run, as in
+ * {@link PasswordStrength#getMaxSequenceLen(String)}.
+ *
+ * @param maxAllowedSequenceLength
+ */
+public record SequenceRule(int maxAllowedSequenceLength) implements PasswordRule<SequenceRule.State> {
+
+  public SequenceRule {
+    if (maxAllowedSequenceLength < 0) {
+      throw new IllegalArgumentException("Limit must not be negative: " + maxAllowedSequenceLength);
+    }
+  }
+
+  @Override
+  public State newState() {
+    return new State();
+  }
+
+  @Override
+  public void reset(State state) {
+    state.sequence.clear();
+  }
+
+  @Override
+  public boolean accept(State state, char c) {
+    state.sequence.nextOrdinal(CharFold.fold(c));
+    return state.sequence.maxLen <= this.maxAllowedSequenceLength;
+  }
+
+  @Override
+  public boolean finish(State state) {
+    return state.sequence.maxLen <= this.maxAllowedSequenceLength;
+  }
+
+  /**
+   * Opaque per-scan state.
+   */
+  public static final class State {
+    final SequenceState sequence = new SequenceState();
+  }
+}
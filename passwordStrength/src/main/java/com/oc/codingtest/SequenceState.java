@@ -0,0 +1,83 @@
+package com.oc.codingtest;
+
+/**
+ * Tracks the longest ascending/descending run of countable chars, one char at a time.
+ * <p>
+ * All state is primitive: the direction is the step between the last two chars (+1, -1 or 0 for none), and a
+ * missing last char is marked with a negative sentinel. That keeps {@link #nextChar(int)} free of boxing, so the
+ * JIT can scalar-replace a short-lived instance entirely.
+ */
+class SequenceState {
+  static final int ASC = 1;
+  static final int DESC = -1;
+  static final int NONE = 0;
+
+  // chars are never negative, so this can't collide with a real last char
+  static final int NO_CHAR = -1;
+
+  public int direction = NONE;
+  public int lastChar = NO_CHAR;
+  public int maxLen = 0;
+  public int currentLen = 0;
+
+  public void nextChar(int c) {
+    this.nextOrdinal(isCountable(c) ? c : NO_CHAR);
+  }
+
+  /**
+   * Same as {@link #nextChar(int)} for a char that has already been classified, eg: by {@link CharFold#fold(char)}.
+   *
+   * @param ordinal the lowercased char if it is countable, otherwise {@link #NO_CHAR}
+   */
+  public void nextOrdinal(int ordinal) {
+    if (ordinal != NO_CHAR) {
+      // A countable char directly after the start or a non-countable char begins a new run
+      if (this.lastChar == NO_CHAR) {
+        this.currentLen = 1;
+      } else {
+        int distance = ordinal - this.lastChar;
+        if (distance == ASC || distance == DESC) {
+          this.continueSeq(distance);
+        } else {
+          this.reset();
+        }
+      }
+
+      this.lastChar = ordinal;
+    } else {
+      this.handleNonCountable();
+    }
+
+    this.maxLen = Integer.max(this.currentLen, this.maxLen);
+  }
+
+  static boolean isCountable(int c) {
+    return Character.isAlphabetic(c) || Character.isDigit(c);
+  }
+
+  private void continueSeq(int currentDirection) {
+    if (this.direction == NONE || currentDirection == this.direction) {
+      this.currentLen += 1;
+    } else {
+      this.currentLen = 2;
+    }
+
+    this.direction = currentDirection;
+  }
+
+  private void reset() {
+    this.currentLen = 1;
+    this.direction = NONE;
+  }
+
+  public void clear() {
+    this.handleNonCountable();
+    this.maxLen = 0;
+  }
+
+  private void handleNonCountable() {
+    this.lastChar = NO_CHAR;
+    this.currentLen = 0;
+    this.direction = NONE;
+  }
+}
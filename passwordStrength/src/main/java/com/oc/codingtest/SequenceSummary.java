@@ -0,0 +1,111 @@
+package com.oc.codingtest;
+
+/**
+ * Mergeable summary of the ascending/descending runs in a segment of chars.
+ * <p>
+ * A run is a stretch of steps of +1 or -1 in the same direction between adjacent countable chars, and a run of k
+ * steps is a sequence of k + 1 chars. {@link SequenceState} only keeps what it needs to extend a run to the right.
+ * A summary also keeps the run at the left edge of its segment and the chars at both edges, so two summaries for
+ * adjacent segments can be combined into the exact summary of the joined segment. Combining is associative, which
+ * makes it a correct combiner for parallel streams and fork-join splits.
+ */
+final class SequenceSummary {
+
+  private int length = 0;
+  private int firstChar = SequenceState.NO_CHAR;
+  private int lastChar = SequenceState.NO_CHAR;
+
+  // The run of identical steps starting at the first char, and the one ending at the last char
+  private int prefixDirection = SequenceState.NONE;
+  private int prefixSteps = 0;
+  private int suffixDirection = SequenceState.NONE;
+  private int suffixSteps = 0;
+
+  private int maxLen = 0;
+
+  /**
+   * Append one char to the right of the segment.
+   *
+   * @param ordinal the lowercased char if it is countable, otherwise {@link SequenceState#NO_CHAR}
+   */
+  public void accept(int ordinal) {
+    boolean countable = ordinal != SequenceState.NO_CHAR;
+    this.append(1, ordinal, ordinal, SequenceState.NONE, 0, SequenceState.NONE, 0, countable ? 1 : 0);
+  }
+
+  /**
+   * Append the segment summarised by other to the right of this one.
+   *
+   * @param other summary of the segment directly after this one
+   */
+  public void combine(SequenceSummary other) {
+    this.append(other.length, other.firstChar, other.lastChar, other.prefixDirection, other.prefixSteps,
+        other.suffixDirection, other.suffixSteps, other.maxLen);
+  }
+
+  public int getMaxLen() {
+    return this.maxLen;
+  }
+
+  private void append(int otherLength, int otherFirstChar, int otherLastChar, int otherPrefixDirection,
+                      int otherPrefixSteps, int otherSuffixDirection, int otherSuffixSteps, int otherMaxLen) {
+    if (otherLength == 0) {
+      return;
+    }
+    if (this.length == 0) {
+      this.length = otherLength;
+      this.firstChar = otherFirstChar;
+      this.lastChar = otherLastChar;
+      this.prefixDirection = otherPrefixDirection;
+      this.prefixSteps = otherPrefixSteps;
+      this.suffixDirection = otherSuffixDirection;
+      this.suffixSteps = otherSuffixSteps;
+      this.maxLen = otherMaxLen;
+      return;
+    }
+
+    int step = step(this.lastChar, otherFirstChar);
+    int maxLen = Integer.max(this.maxLen, otherMaxLen);
+
+    int prefixDirection = this.prefixDirection;
+    int prefixSteps = this.prefixSteps;
+    int suffixDirection = otherSuffixDirection;
+    int suffixSteps = otherSuffixSteps;
+
+    if (step != SequenceState.NONE) {
+      // The run that crosses the boundary
+      int leftSteps = this.suffixDirection == step ? this.suffixSteps : 0;
+      int rightSteps = otherPrefixDirection == step ? otherPrefixSteps : 0;
+      maxLen = Integer.max(maxLen, leftSteps + 1 + rightSteps + 1);
+
+      // If this whole segment is one run in the boundary's direction, the prefix run reaches into the other segment
+      if (this.prefixSteps == this.length - 1 && (this.length == 1 || this.prefixDirection == step)) {
+        prefixDirection = step;
+        prefixSteps = this.length + rightSteps;
+      }
+
+      // And likewise for the suffix run when the other segment is one run
+      if (otherSuffixSteps == otherLength - 1 && (otherLength == 1 || otherSuffixDirection == step)) {
+        suffixDirection = step;
+        suffixSteps = otherLength + leftSteps;
+      }
+    }
+
+    this.length += otherLength;
+    this.lastChar = otherLastChar;
+    this.prefixDirection = prefixDirection;
+    this.prefixSteps = prefixSteps;
+    this.suffixDirection = suffixDirection;
+    this.suffixSteps = suffixSteps;
+    this.maxLen = maxLen;
+  }
+
+  private static int step(int from, int to) {
+    if (from == SequenceState.NO_CHAR || to == SequenceState.NO_CHAR) {
+      return SequenceState.NONE;
+    }
+
+    int distance = to - from;
+    return distance == SequenceState.ASC || distance == SequenceState.DESC ? distance : SequenceState.NONE;
+  }
+}
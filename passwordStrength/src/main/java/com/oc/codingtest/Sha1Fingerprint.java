@@ -0,0 +1,102 @@
+package com.oc.codingtest;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Computes the breached-password fingerprint of a password fed one char at a time: the first 8 bytes of the SHA-1
+ * of its UTF-8 encoding, read as a big-endian long. This is the leading 16 hex digits of the hashes in public
+ * breach corpora.
+ * <p>
+ * Chars are encoded straight into the digest, so no byte[] copy of the password is made. An unpaired surrogate is
+ * encoded as '?', the same as {@link String#getBytes(java.nio.charset.Charset)}.
+ */
+final class Sha1Fingerprint {
+
+  private static final ThreadLocal<Sha1Fingerprint> fingerprints = ThreadLocal.withInitial(Sha1Fingerprint::new);
+
+  private final MessageDigest sha1;
+  private final byte[] encoded = new byte[4];
+  private int highSurrogate = SequenceState.NO_CHAR;
+
+  Sha1Fingerprint() {
+    try {
+      this.sha1 = MessageDigest.getInstance("SHA-1");
+    } catch (NoSuchAlgorithmException e) {
+      // Every Java platform is required to support SHA-1
+      throw new IllegalStateException(e);
+    }
+  }
+
+  static long of(CharSequence password) {
+    Sha1Fingerprint fingerprint = fingerprints.get();
+    fingerprint.reset();
+    for (int i = 0; i < password.length(); i++) {
+      fingerprint.accept(password.charAt(i));
+    }
+    return fingerprint.finish();
+  }
+
+  void accept(char c) {
+    if (this.highSurrogate != SequenceState.NO_CHAR) {
+      int high = this.highSurrogate;
+      this.highSurrogate = SequenceState.NO_CHAR;
+      if (Character.isLowSurrogate(c)) {
+        this.encode(Character.toCodePoint((char) high, c));
+        return;
+      }
+      this.sha1.update((byte) '?');
+    }
+
+    if (Character.isHighSurrogate(c)) {
+      this.highSurrogate = c;
+    } else if (Character.isLowSurrogate(c)) {
+      this.sha1.update((byte) '?');
+    } else {
+      this.encode(c);
+    }
+  }
+
+  long finish() {
+    if (this.highSurrogate != SequenceState.NO_CHAR) {
+      this.highSurrogate = SequenceState.NO_CHAR;
+      this.sha1.update((byte) '?');
+    }
+
+    byte[] digest = this.sha1.digest();
+    long fingerprint = 0;
+    for (int i = 0; i < Long.BYTES; i++) {
+      fingerprint = fingerprint << 8 | (digest[i] & 0xff);
+    }
+    return fingerprint;
+  }
+
+  void reset() {
+    this.sha1.reset();
+    this.highSurrogate = SequenceState.NO_CHAR;
+  }
+
+  private void encode(int codePoint) {
+    if (codePoint < 0x80) {
+      this.sha1.update((byte) codePoint);
+      return;
+    }
+
+    int length;
+    if (codePoint < 0x800) {
+      this.encoded[0] = (byte) (0xc0 | codePoint >> 6);
+      length = 2;
+    } else if (codePoint < 0x10000) {
+      this.encoded[0] = (byte) (0xe0 | codePoint >> 12);
+      this.encoded[1] = (byte) (0x80 | (codePoint >> 6 & 0x3f));
+      length = 3;
+    } else {
+      this.encoded[0] = (byte) (0xf0 | codePoint >> 18);
+      this.encoded[1] = (byte) (0x80 | (codePoint >> 12 & 0x3f));
+      this.encoded[2] = (byte) (0x80 | (codePoint >> 6 & 0x3f));
+      length = 4;
+    }
+    this.encoded[length - 1] = (byte) (0x80 | (codePoint & 0x3f));
+    this.sha1.update(this.encoded, 0, length);
+  }
+}
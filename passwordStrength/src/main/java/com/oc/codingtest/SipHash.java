@@ -0,0 +1,96 @@
+package com.oc.codingtest;
+
+/**
+ * SipHash-2-4, a keyed 64-bit hash that can't be steered into collisions without the key.
+ * <p>
+ * The {@link CharSequence} variant hashes the chars as their UTF-16LE bytes, 4 chars to a word, without copying
+ * them out first. It gives the same hash as the byte[] variant over those bytes.
+ */
+final class SipHash {
+
+  private SipHash() {
+  }
+
+  static long hash(long k0, long k1, CharSequence s) {
+    long v0 = k0 ^ 0x736f6d6570736575L;
+    long v1 = k1 ^ 0x646f72616e646f6dL;
+    long v2 = k0 ^ 0x6c7967656e657261L;
+    long v3 = k1 ^ 0x7465646279746573L;
+
+    int length = s.length();
+    int end = length & ~3;
+    for (int i = 0; i < end; i += 4) {
+      long m = s.charAt(i)
+          | (long) s.charAt(i + 1) << 16
+          | (long) s.charAt(i + 2) << 32
+          | (long) s.charAt(i + 3) << 48;
+
+      v3 ^= m;
+      for (int round = 0; round < 2; round++) {
+        v0 += v1; v1 = Long.rotateLeft(v1, 13); v1 ^= v0; v0 = Long.rotateLeft(v0, 32);
+        v2 += v3; v3 = Long.rotateLeft(v3, 16); v3 ^= v2;
+        v0 += v3; v3 = Long.rotateLeft(v3, 21); v3 ^= v0;
+        v2 += v1; v1 = Long.rotateLeft(v1, 17); v1 ^= v2; v2 = Long.rotateLeft(v2, 32);
+      }
+      v0 ^= m;
+    }
+
+    long last = (long) (length * 2) << 56;
+    for (int i = end; i < length; i++) {
+      last |= (long) s.charAt(i) << ((i - end) * 16);
+    }
+
+    return finish(v0, v1, v2, v3, last);
+  }
+
+  static long hash(long k0, long k1, byte[] bytes) {
+    long v0 = k0 ^ 0x736f6d6570736575L;
+    long v1 = k1 ^ 0x646f72616e646f6dL;
+    long v2 = k0 ^ 0x6c7967656e657261L;
+    long v3 = k1 ^ 0x7465646279746573L;
+
+    int end = bytes.length & ~7;
+    for (int i = 0; i < end; i += 8) {
+      long m = 0;
+      for (int b = 7; b >= 0; b--) {
+        m = m << 8 | (bytes[i + b] & 0xff);
+      }
+
+      v3 ^= m;
+      for (int round = 0; round < 2; round++) {
+        v0 += v1; v1 = Long.rotateLeft(v1, 13); v1 ^= v0; v0 = Long.rotateLeft(v0, 32);
+        v2 += v3; v3 = Long.rotateLeft(v3, 16); v3 ^= v2;
+        v0 += v3; v3 = Long.rotateLeft(v3, 21); v3 ^= v0;
+        v2 += v1; v1 = Long.rotateLeft(v1, 17); v1 ^= v2; v2 = Long.rotateLeft(v2, 32);
+      }
+      v0 ^= m;
+    }
+
+    long last = (long) bytes.length << 56;
+    for (int i = end; i < bytes.length; i++) {
+      last |= (long) (bytes[i] & 0xff) << ((i - end) * 8);
+    }
+
+    return finish(v0, v1, v2, v3, last);
+  }
+
+  private static long finish(long v0, long v1, long v2, long v3, long last) {
+    v3 ^= last;
+    for (int round = 0; round < 2; round++) {
+      v0 += v1; v1 = Long.rotateLeft(v1, 13); v1 ^= v0; v0 = Long.rotateLeft(v0, 32);
+      v2 += v3; v3 = Long.rotateLeft(v3, 16); v3 ^= v2;
+      v0 += v3; v3 = Long.rotateLeft(v3, 21); v3 ^= v0;
+      v2 += v1; v1 = Long.rotateLeft(v1, 17); v1 ^= v2; v2 = Long.rotateLeft(v2, 32);
+    }
+    v0 ^= last;
+
+    v2 ^= 0xff;
+    for (int round = 0; round < 4; round++) {
+      v0 += v1; v1 = Long.rotateLeft(v1, 13); v1 ^= v0; v0 = Long.rotateLeft(v0, 32);
+      v2 += v3; v3 = Long.rotateLeft(v3, 16); v3 ^= v2;
+      v0 += v3; v3 = Long.rotateLeft(v3, 21); v3 ^= v0;
+      v2 += v1; v1 = Long.rotateLeft(v1, 17); v1 ^= v2; v2 = Long.rotateLeft(v2, 32);
+    }
+    return v0 ^ v1 ^ v2 ^ v3;
+  }
+}
@@ -0,0 +1,133 @@
+package com.oc.codingtest;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Minimal UTF-8 decoding helpers for the byte-oriented scoring paths.
+ * <p>
+ * Decoded code points are fed to a {@link PasswordScanner} as UTF-16 chars, so scoring valid UTF-8 gives exactly the
+ * same result as scoring the String it decodes to. Malformed input is replaced with U+FFFD the way
+ * {@code new String(bytes, UTF_8)} does it: one per maximal invalid subpart, ie: per invalid byte or per truncated
+ * sequence, so malformed input scores the same as its String too.
+ */
+final class Utf8 {
+
+  static final char REPLACEMENT = '\uFFFD';
+
+  private Utf8() {
+  }
+
+  /**
+   * Decode the multi-byte sequence whose lead byte is at index i.
+   * Only call this for lead bytes outside the ASCII range.
+   *
+   * @param bytes
+   * @param i     index of the lead byte
+   * @param limit index one past the last byte that may be read
+   * @return the code point in the low 21 bits and the number of bytes consumed above bit 24
+   */
+  static int decode(ByteBuffer bytes, int i, int limit) {
+    int available = limit - i;
+    return decode(bytes.get(i),
+        available > 1 ? bytes.get(i + 1) : 0,
+        available > 2 ? bytes.get(i + 2) : 0,
+        available > 3 ? bytes.get(i + 3) : 0,
+        available);
+  }
+
+  /**
+   * @see #decode(ByteBuffer, int, int)
+   */
+  static int decode(byte[] bytes, int i, int limit) {
+    int available = limit - i;
+    return decode(bytes[i],
+        available > 1 ? bytes[i + 1] : 0,
+        available > 2 ? bytes[i + 2] : 0,
+        available > 3 ? bytes[i + 3] : 0,
+        available);
+  }
+
+  private static int decode(byte lead, byte b1, byte b2, byte b3, int available) {
+    int b0 = lead & 0xff;
+
+    // The second byte's range depends on the lead, which rules out overlong forms and anything past U+10FFFF
+    // before the sequence is complete
+    int length;
+    int codePoint;
+    int secondMin = 0x80;
+    int secondMax = 0xbf;
+    if (b0 >= 0xc2 && b0 <= 0xdf) {
+      length = 2;
+      codePoint = b0 & 0x1f;
+    } else if (b0 >= 0xe0 && b0 <= 0xef) {
+      length = 3;
+      codePoint = b0 & 0x0f;
+      if (b0 == 0xe0) {
+        secondMin = 0xa0;
+      }
+    } else if (b0 >= 0xf0 && b0 <= 0xf4) {
+      length = 4;
+      codePoint = b0 & 0x07;
+      if (b0 == 0xf0) {
+        secondMin = 0x90;
+      } else if (b0 == 0xf4) {
+        secondMax = 0x8f;
+      }
+    } else {
+      return malformed(1);
+    }
+
+    // Like the JDK's decoder, a truncated sequence is replaced as a whole: one U+FFFD for its longest valid prefix
+    int second = b1 & 0xff;
+    if (available < 2 || second < secondMin || second > secondMax) {
+      return malformed(1);
+    }
+    codePoint = (codePoint << 6) | (second & 0x3f);
+    if (length > 2) {
+      if (available < 3 || !isContinuation(b2)) {
+        return malformed(2);
+      }
+      codePoint = (codePoint << 6) | (b2 & 0x3f);
+      if (length == 3 && Character.isSurrogate((char) codePoint)) {
+        // The JDK replaces an encoded surrogate as one sequence rather than from the ED lead on
+        return malformed(3);
+      }
+    }
+    if (length > 3) {
+      if (available < 4 || !isContinuation(b3)) {
+        return malformed(3);
+      }
+      codePoint = (codePoint << 6) | (b3 & 0x3f);
+    }
+
+    return (length << 24) | codePoint;
+  }
+
+  private static boolean isContinuation(byte b) {
+    return (b & 0xc0) == 0x80;
+  }
+
+  static int codePoint(int decoded) {
+    return decoded & 0xffffff;
+  }
+
+  static int length(int decoded) {
+    return decoded >>> 24;
+  }
+
+  /**
+   * Feed a decoded code point to the scanner as one or two UTF-16 chars.
+   */
+  static void accept(PasswordScanner scanner, int codePoint) {
+    if (codePoint < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+      scanner.accept((char) codePoint);
+    } else {
+      scanner.accept(Character.highSurrogate(codePoint));
+      scanner.accept(Character.lowSurrogate(codePoint));
+    }
+  }
+
+  private static int malformed(int length) {
+    return (length << 24) | REPLACEMENT;
+  }
+}
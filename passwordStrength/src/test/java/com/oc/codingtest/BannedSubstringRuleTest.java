@@ -0,0 +1,67 @@
+package com.oc.codingtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BannedSubstringRuleTest {
+
+  private static final List<String> WORDS = List.of("acme", "rocket", "rock", "he", "she", "his", "hers",
+      "summer", "\u00c9t\u00e9");
+
+  RuleEngine engine = new RuleEngine(new BannedSubstringRule(WORDS));
+
+  @ParameterizedTest
+  @DisplayName("Matches String.contains on the lowercased password")
+  @ValueSource(strings = {"", "a", "myAcme1", "ROCKETS", "rocaket", "ushers", "xyz", "h", "Summe", "SUMMER2024",
+      "\u00e9t\u00e9!", "\u00c9T\u00c9", "roc", "ushe", "hi s", "acm\u00e9"})
+  void matchesContains(String password) {
+    assertEquals(containsAny(password, WORDS), !engine.test(password), password);
+  }
+
+  @Test
+  @DisplayName("Random dictionaries and passwords agree with String.contains")
+  void randomised() {
+    Random random = new Random(42);
+    for (int round = 0; round < 200; round++) {
+      List<String> words = new ArrayList<>();
+      for (int i = 0; i < 1 + random.nextInt(20); i++) {
+        words.add(randomString(random, 1 + random.nextInt(4)));
+      }
+      RuleEngine engine = new RuleEngine(new BannedSubstringRule(words));
+
+      for (int i = 0; i < 50; i++) {
+        String password = randomString(random, random.nextInt(16));
+        assertEquals(containsAny(password, words), !engine.test(password), words + " " + password);
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("Empty dictionaries and words are rejected")
+  void invalid() {
+    assertThrows(IllegalArgumentException.class, BannedSubstringRule::new);
+    assertThrows(IllegalArgumentException.class, () -> new BannedSubstringRule("acme", ""));
+  }
+
+  private static boolean containsAny(String password, List<String> words) {
+    String lower = password.toLowerCase(Locale.ROOT);
+    return words.stream().anyMatch(word -> lower.contains(word.toLowerCase(Locale.ROOT)));
+  }
+
+  private static String randomString(Random random, int length) {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < length; i++) {
+      sb.append("abcAB\u00e9".charAt(random.nextInt(6)));
+    }
+    return sb.toString();
+  }
+}
@@ -0,0 +1,90 @@
+package com.oc.codingtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BreachedPasswordFilterTest {
+
+  private static final int ENTRIES = 20_000;
+  private static final int PROBES = 100_000;
+
+  @ParameterizedTest
+  @DisplayName("No false negatives, and false positives near the target rate")
+  @ValueSource(doubles = {0.1, 0.01, 0.001})
+  void falsePositiveRate(double targetRate) throws IOException {
+    List<String> breached = new ArrayList<>();
+    for (int i = 0; i < ENTRIES; i++) {
+      breached.add("breached" + i);
+    }
+
+    Path indexFile = Files.createTempFile("breached", ".idx");
+    Path filterFile = Files.createTempFile("breached", ".bloom");
+    try {
+      BreachedPasswordIndexWriter.fromPasswords(breached, indexFile);
+      BreachedPasswordIndex index = BreachedPasswordIndex.open(indexFile);
+      // 16 blocks per segment, so the filter spans many mappings
+      long memorySize = BreachedPasswordFilterWriter.fromIndex(index, targetRate, filterFile, 4);
+      BreachedPasswordFilter filter = BreachedPasswordFilter.open(filterFile, 4);
+
+      assertEquals(memorySize, filter.memorySize());
+      assertEquals(0, filter.memorySize() % 64);
+      assertEquals(ENTRIES, filter.size());
+      assertTrue(filter.expectedFalsePositiveRate() <= targetRate);
+
+      for (String password : breached) {
+        assertTrue(filter.mightContain(password), password);
+      }
+
+      int falsePositives = 0;
+      for (int i = 0; i < PROBES; i++) {
+        if (filter.mightContain("safe" + i)) {
+          falsePositives += 1;
+        }
+      }
+      assertTrue(falsePositives <= 1.5 * targetRate * PROBES + 10, falsePositives + " false positives");
+    } finally {
+      Files.delete(indexFile);
+      Files.delete(filterFile);
+    }
+  }
+
+  @Test
+  @DisplayName("A filtered index gives the same answers as the index alone")
+  void filteredIndex() throws IOException {
+    List<String> breached = List.of("password", "123456", "Password1!", "qwerty");
+
+    Path indexFile = Files.createTempFile("breached", ".idx");
+    Path otherFile = Files.createTempFile("breached", ".idx");
+    Path filterFile = Files.createTempFile("breached", ".bloom");
+    try {
+      BreachedPasswordIndexWriter.fromPasswords(breached, indexFile);
+      BreachedPasswordIndex index = BreachedPasswordIndex.open(indexFile);
+      BreachedPasswordFilterWriter.fromIndex(index, 0.01, filterFile);
+      BreachedPasswordIndex filtered = index.withFilter(BreachedPasswordFilter.open(filterFile));
+
+      for (String password : List.of("password", "Password1!", "correct horse", "", "qwertz")) {
+        assertEquals(index.contains(password), filtered.contains(password), password);
+      }
+
+      BreachedPasswordIndexWriter.fromPasswords(List.of("password"), otherFile);
+      BreachedPasswordIndex other = BreachedPasswordIndex.open(otherFile);
+      assertThrows(IllegalArgumentException.class, () -> other.withFilter(BreachedPasswordFilter.open(filterFile)));
+      assertThrows(IllegalArgumentException.class,
+          () -> BreachedPasswordFilterWriter.fromIndex(index, 0, filterFile));
+    } finally {
+      Files.delete(indexFile);
+      Files.delete(otherFile);
+      Files.delete(filterFile);
+    }
+  }
+}
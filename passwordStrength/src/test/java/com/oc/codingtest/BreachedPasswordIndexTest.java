@@ -0,0 +1,130 @@
+package com.oc.codingtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BreachedPasswordIndexTest {
+
+  @ParameterizedTest
+  @DisplayName("Fingerprint is the leading 8 bytes of the SHA-1 of the UTF-8 password")
+  @ValueSource(strings = {"", "password", "Password1!", "p\u00e4ssw\u00f6rd", "\u5bc6\u7801", "a\uD83D\uDE00b",
+      "lone\uD83D", "\uDE00lone", "\uD83D\uD83D\uDE00"})
+  void fingerprint(String password) throws NoSuchAlgorithmException {
+    byte[] sha1 = MessageDigest.getInstance("SHA-1").digest(password.getBytes(StandardCharsets.UTF_8));
+    long expected = 0;
+    for (int i = 0; i < Long.BYTES; i++) {
+      expected = expected << 8 | (sha1[i] & 0xff);
+    }
+
+    assertEquals(expected, Sha1Fingerprint.of(password));
+  }
+
+  @Test
+  @DisplayName("Every written password is found across segments, and others are not")
+  void lookup() throws IOException {
+    List<String> breached = new ArrayList<>();
+    for (int i = 0; i < 5000; i++) {
+      breached.add("breached" + i);
+    }
+    breached.add("breached0");
+
+    Path file = Files.createTempFile("breached", ".idx");
+    try {
+      assertEquals(5000, BreachedPasswordIndexWriter.fromPasswords(breached, file));
+      // 8 entries per segment, so lookups cross many mappings
+      BreachedPasswordIndex index = BreachedPasswordIndex.open(file, 3);
+
+      assertEquals(5000, index.size());
+      for (int i = 1; i < index.size(); i++) {
+        assertTrue(Long.compareUnsigned(index.get(i - 1), index.get(i)) < 0);
+      }
+      for (String password : breached) {
+        assertTrue(index.contains(password), password);
+      }
+      for (int i = 0; i < 5000; i++) {
+        assertFalse(index.contains("safe" + i));
+      }
+      assertFalse(index.containsFingerprint(0L));
+      assertFalse(index.containsFingerprint(-1L));
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  @DisplayName("Sorted hash lists are converted, and unsorted ones rejected")
+  void fromSortedHashes() throws IOException, NoSuchAlgorithmException {
+    List<String> hashes = new ArrayList<>();
+    for (String password : List.of("password", "123456", "Password1!", "qwerty")) {
+      byte[] sha1 = MessageDigest.getInstance("SHA-1").digest(password.getBytes(StandardCharsets.UTF_8));
+      hashes.add(HexFormat.of().withUpperCase().formatHex(sha1) + ":42");
+    }
+    hashes.sort(null);
+
+    Path list = Files.createTempFile("hashes", ".txt");
+    Path file = Files.createTempFile("breached", ".idx");
+    try {
+      Files.write(list, hashes);
+      assertEquals(4, BreachedPasswordIndexWriter.fromSortedHashes(list, file));
+
+      BreachedPasswordIndex index = BreachedPasswordIndex.open(file);
+      RuleEngine engine = new RuleEngine(new BreachedPasswordRule(index), new MinLengthRule(6));
+      assertFalse(engine.test("Password1!"));
+      assertFalse(engine.test("qwerty"));
+      assertTrue(engine.test("correct horse"));
+
+      Files.write(list, List.of(hashes.get(1), hashes.get(0)));
+      assertThrows(IOException.class, () -> BreachedPasswordIndexWriter.fromSortedHashes(list, file));
+      assertEquals(4, BreachedPasswordIndex.open(file).size());
+    } finally {
+      Files.delete(list);
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  @DisplayName("A failed conversion leaves nothing that opens as an index")
+  void failedConversion() throws IOException {
+    Path directory = Files.createTempDirectory("breached");
+    Path list = directory.resolve("hashes.txt");
+    Path file = directory.resolve("breached.idx");
+    try {
+      Files.write(list, List.of("FFFFFFFFFFFFFFFF", "0000000000000000"));
+      assertThrows(IOException.class, () -> BreachedPasswordIndexWriter.fromSortedHashes(list, file));
+      assertThrows(IOException.class, () -> BreachedPasswordIndex.open(file));
+      try (var entries = Files.list(directory)) {
+        assertEquals(List.of(list), entries.toList());
+      }
+    } finally {
+      Files.deleteIfExists(file);
+      Files.delete(list);
+      Files.delete(directory);
+    }
+  }
+
+  @Test
+  @DisplayName("Files that aren't an index are rejected")
+  void notAnIndex() throws IOException {
+    Path file = Files.createTempFile("breached", ".idx");
+    try {
+      Files.writeString(file, "password\n");
+      assertThrows(IOException.class, () -> BreachedPasswordIndex.open(file));
+    } finally {
+      Files.delete(file);
+    }
+  }
+}
@@ -0,0 +1,98 @@
+package com.oc.codingtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkPasswordAuditTest {
+
+  PasswordStrength ps = new PasswordStrength();
+
+  @Test
+  @DisplayName("Audit over many small chunks matches scoring each line")
+  void matchesLineByLineScoring() throws IOException {
+    List<String> lines = new ArrayList<>();
+    for (int i = 0; i < 2000; i++) {
+      lines.add("pass" + i + "word\u00e9" + Integer.toHexString(i * 7919) + (i % 3 == 0 ? "\uD83D\uDE00" : ""));
+    }
+    Path file = Files.createTempFile("passwords", ".txt");
+    try {
+      // CRLF terminators and no final newline
+      Files.writeString(file, String.join("\r\n", lines), StandardCharsets.UTF_8);
+
+      AuditReport report = new BulkPasswordAudit(2, 3, 1000).audit(file);
+
+      long[] repetitionHistogram = new long[AuditReport.HISTOGRAM_BUCKETS];
+      long[] sequenceHistogram = new long[AuditReport.HISTOGRAM_BUCKETS];
+      List<Long> offending = new ArrayList<>();
+      long offset = 0;
+      for (String line : lines) {
+        repetitionHistogram[AuditReport.bucket(ps.getMaxRepetitionCount(line))] += 1;
+        sequenceHistogram[AuditReport.bucket(ps.getMaxSequenceLen(line))] += 1;
+        if (!ps.isPasswordPermissible(line, 2, 3)) {
+          offending.add(offset);
+        }
+        offset += line.getBytes(StandardCharsets.UTF_8).length + 2;
+      }
+
+      assertEquals(lines.size(), report.getLineCount());
+      assertArrayEquals(repetitionHistogram, report.getRepetitionHistogram());
+      assertArrayEquals(sequenceHistogram, report.getSequenceHistogram());
+      assertArrayEquals(offending.stream().mapToLong(Long::longValue).toArray(), report.getOffendingLineOffsets());
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  @DisplayName("A lone CR at the end of the file is part of the last line, as in PasswordStreamScorer")
+  void trailingCarriageReturn() throws IOException {
+    Path file = Files.createTempFile("passwords", ".txt");
+    try {
+      Files.writeString(file, "abc\r\na\r\r\r", StandardCharsets.UTF_8);
+
+      AuditReport report = new BulkPasswordAudit(2, 3).audit(file);
+
+      assertEquals(2, report.getLineCount());
+      assertEquals(1, report.getRepetitionHistogram()[AuditReport.bucket(3)]);
+      assertArrayEquals(new long[]{5}, report.getOffendingLineOffsets());
+
+      // Same lines and scores as the stream scorer reports for the same input
+      List<String> streamed = new ArrayList<>();
+      new PasswordStreamScorer(2, 3).score(file, (lineNumber, repetitions, sequenceLen, permissible) ->
+          streamed.add(repetitions + ":" + sequenceLen + ":" + permissible));
+      assertEquals(List.of("1:3:true", "3:1:false"), streamed);
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  @DisplayName("Empty file gives an empty report")
+  void emptyFile() throws IOException {
+    Path file = Files.createTempFile("passwords", ".txt");
+    try {
+      AuditReport report = new BulkPasswordAudit(2, 3).audit(file);
+
+      assertEquals(0, report.getLineCount());
+      assertEquals(0, report.getOffendingLineCount());
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  @DisplayName("Negative limits are rejected")
+  void negativeLimits() {
+    assertThrows(IllegalArgumentException.class, () -> new BulkPasswordAudit(-1, 3));
+    assertThrows(IllegalArgumentException.class, () -> new BulkPasswordAudit(3, -1));
+  }
+}
@@ -0,0 +1,28 @@
+package com.oc.codingtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CharFoldTest {
+
+  @Test
+  @DisplayName("Table agrees with Character for every char")
+  void matchesCharacter() {
+    for (int i = 0; i <= Character.MAX_VALUE; i++) {
+      char c = (char) i;
+      char lower = Character.toLowerCase(c);
+      boolean countable = Character.isAlphabetic(lower) || Character.isDigit(lower);
+
+      assertEquals(lower, CharFold.lower(c));
+      assertEquals(countable ? lower : SequenceState.NO_CHAR, CharFold.fold(c));
+    }
+  }
+
+  @Test
+  @DisplayName("Blocks are shared")
+  void compact() {
+    assertTrue(CharFold.tableSize() < (Character.MAX_VALUE + 1) / 4, "table size " + CharFold.tableSize());
+  }
+}
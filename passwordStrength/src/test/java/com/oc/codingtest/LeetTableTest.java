@@ -0,0 +1,97 @@
+package com.oc.codingtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeetTableTest {
+
+  private static final String ALPHABET = "abcdilo@1|!0(8 -";
+
+  PasswordStrength ps = new PasswordStrength();
+
+  @ParameterizedTest
+  @DisplayName("Leet spellings of a banned word are caught")
+  @ValueSource(strings = {"p@ssw0rd", "P4$$W0RD", "myp@55word!", "1ion", "|ion", "!ce", "1ce"})
+  void bannedWords(String password) {
+    RuleEngine plain = new RuleEngine(new BannedSubstringRule(List.of("password", "lion", "ice")));
+    RuleEngine leet = new RuleEngine(new BannedSubstringRule(List.of("password", "lion", "ice"), LeetTable.DEFAULT));
+
+    assertTrue(plain.test(password), password);
+    assertFalse(leet.test(password), password);
+  }
+
+  @Test
+  @DisplayName("Leet rules agree with trying every reading of the password")
+  void matchesEveryReading() {
+    Random random = new Random(7);
+    List<String> words = List.of("abc", "lid", "cool", "dia", "1a");
+    RuleEngine banned = new RuleEngine(new BannedSubstringRule(words, LeetTable.DEFAULT));
+
+    for (int round = 0; round < 2000; round++) {
+      StringBuilder sb = new StringBuilder();
+      for (int i = random.nextInt(9); i > 0; i--) {
+        sb.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+      }
+      String password = sb.toString();
+      List<String> readings = readings(password);
+
+      boolean anyBanned = readings.stream().anyMatch(reading -> words.stream().anyMatch(reading::contains));
+      assertEquals(anyBanned, !banned.test(password), password);
+
+      int maxSequenceLen = readings.stream().mapToInt(ps::getMaxSequenceLen).max().orElse(0);
+      LeetSequenceState sequence = new LeetSequenceState(LeetTable.DEFAULT);
+      for (int i = 0; i < password.length(); i++) {
+        sequence.nextChar(password.charAt(i));
+      }
+      assertEquals(maxSequenceLen, sequence.maxLen, password);
+      for (int limit = 0; limit <= 4; limit++) {
+        assertEquals(maxSequenceLen <= limit, new RuleEngine(new LeetSequenceRule(limit)).test(password), password);
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("Without substitutions the leet sequence rule is the plain one")
+  void noSubstitutions() {
+    LeetTable none = new LeetTable(Map.of());
+    for (String password : List.of("", "abcd", "Melbourne", "password1234", "AbCdEf", "a-b_c!")) {
+      LeetSequenceState sequence = new LeetSequenceState(none);
+      for (int i = 0; i < password.length(); i++) {
+        sequence.nextChar(password.charAt(i));
+      }
+      assertEquals(ps.getMaxSequenceLen(password), sequence.maxLen, password);
+    }
+  }
+
+  @Test
+  @DisplayName("Too many substitutions for a char are rejected")
+  void tooManySubstitutions() {
+    assertThrows(IllegalArgumentException.class, () -> new LeetTable(Map.of('1', "ilt!")));
+  }
+
+  private static List<String> readings(String password) {
+    List<String> readings = new ArrayList<>();
+    readings.add("");
+    char[] candidates = new char[LeetTable.MAX_CANDIDATES];
+    for (int i = 0; i < password.length(); i++) {
+      int count = LeetTable.DEFAULT.lowered(password.charAt(i), candidates);
+      List<String> next = new ArrayList<>();
+      for (String reading : readings) {
+        for (int j = 0; j < count; j++) {
+          next.add(reading + candidates[j]);
+        }
+      }
+      readings = next;
+    }
+    return readings;
+  }
+}
@@ -0,0 +1,34 @@
+package com.oc.codingtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordPolicyTest {
+
+  PasswordStrength ps = new PasswordStrength();
+
+  @ParameterizedTest
+  @DisplayName("Policy check matches isPasswordPermissible for every limit combination")
+  @ValueSource(strings = {"", "a", "aa", "abc", "Melbourne", "passwords", "password1234", "AbCdEf", "aaaa-1234"})
+  void matchesPermissible(String password) {
+    for (int maxRepetitions = 0; maxRepetitions <= 5; maxRepetitions++) {
+      for (int maxSequenceLen = 0; maxSequenceLen <= 5; maxSequenceLen++) {
+        PasswordPolicy policy = new PasswordPolicy(maxRepetitions, maxSequenceLen);
+
+        assertEquals(ps.isPasswordPermissible(password, maxRepetitions, maxSequenceLen), policy.check(password),
+            password + " " + policy);
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("Negative limits are rejected")
+  void negativeLimits() {
+    assertThrows(IllegalArgumentException.class, () -> new PasswordPolicy(-1, 3));
+    assertThrows(IllegalArgumentException.class, () -> new PasswordPolicy(3, -1));
+  }
+}
@@ -0,0 +1,127 @@
+package com.oc.codingtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordResultCacheTest {
+
+  private static final long K0 = 0x0706050403020100L;
+  private static final long K1 = 0x0f0e0d0c0b0a0908L;
+
+  @Test
+  @DisplayName("SipHash-2-4 matches the reference test vectors")
+  void sipHashVectors() {
+    byte[] message = new byte[15];
+    for (int i = 0; i < message.length; i++) {
+      message[i] = (byte) i;
+    }
+
+    assertEquals(0x726fdb47dd0e0e31L, SipHash.hash(K0, K1, new byte[0]));
+    assertEquals(0xa129ca6149be45e5L, SipHash.hash(K0, K1, message));
+  }
+
+  @ParameterizedTest
+  @DisplayName("Hashing chars is the same as hashing their UTF-16LE bytes")
+  @ValueSource(strings = {"", "a", "ab", "abc", "abcd", "abcde", "Melbourne", "password1234", "a\uD83D\uDE00b\u00e9"})
+  void sipHashChars(String password) {
+    assertEquals(SipHash.hash(K0, K1, password.getBytes(StandardCharsets.UTF_16LE)), SipHash.hash(K0, K1, password));
+  }
+
+  @ParameterizedTest
+  @DisplayName("Cached results match uncached ones")
+  @ValueSource(strings = {"", "Melbourne", "passwords", "password1234", "AbCdEf", "aaaaaaaaaa"})
+  void matchesUncached(String password) {
+    PasswordResultCache cache = new PasswordResultCache(16);
+    PasswordStrength cached = new PasswordStrength(cache);
+    PasswordStrength uncached = new PasswordStrength();
+    PasswordPolicy policy = new PasswordPolicy(2, 3);
+
+    for (int attempt = 0; attempt < 2; attempt++) {
+      assertEquals(uncached.score(password), cache.score(password));
+      assertEquals(uncached.isPasswordPermissible(password, 2, 3), cached.isPasswordPermissible(password, 2, 3));
+      assertEquals(policy.check(password), cache.check(policy, password));
+    }
+    assertEquals(1, cache.getMissCount());
+    assertEquals(5, cache.getHitCount());
+  }
+
+  @Test
+  @DisplayName("The cache stays bounded and keeps recently hit entries")
+  void eviction() {
+    PasswordResultCache cache = new PasswordResultCache(PasswordResultCache.WAYS);
+    assertEquals(PasswordResultCache.WAYS, cache.capacity());
+
+    for (int i = 0; i < 100; i++) {
+      cache.score("hot");
+      cache.score("cold" + i);
+    }
+
+    assertEquals(101, cache.getMissCount());
+    assertEquals(99, cache.getHitCount());
+
+    cache.clear();
+    cache.score("hot");
+    assertEquals(102, cache.getMissCount());
+  }
+
+  @Test
+  @DisplayName("Concurrent use gives the same results")
+  void concurrent() {
+    PasswordResultCache cache = new PasswordResultCache(64);
+    PasswordStrength ps = new PasswordStrength();
+
+    IntStream.range(0, 10_000).parallel().forEach(i -> {
+      String password = "password" + (i % 200);
+      assertEquals(ps.score(password), cache.score(password));
+    });
+    assertEquals(10_000, cache.getHitCount() + cache.getMissCount());
+  }
+
+  @Test
+  @DisplayName("Scores too big for a packed score bypass the cache and are checked exactly")
+  void longPasswords() {
+    PasswordResultCache cache = new PasswordResultCache(16);
+    PasswordStrength cached = new PasswordStrength(cache);
+    String password = "a".repeat(PasswordScore.MAX_FIELD_VALUE + 10);
+
+    for (int attempt = 0; attempt < 2; attempt++) {
+      assertFalse(cached.isPasswordPermissible(password, PasswordScore.MAX_FIELD_VALUE + 5, 1));
+      assertTrue(cached.isPasswordPermissible(password, PasswordScore.MAX_FIELD_VALUE + 10, 1));
+    }
+    assertEquals(0, cache.getHitCount() + cache.getMissCount());
+
+    // A repetition count of exactly MAX_FIELD_VALUE would saturate, so it's scanned exactly as well
+    String saturating = "a".repeat(PasswordScore.MAX_FIELD_VALUE);
+    assertTrue(cached.isPasswordPermissible(saturating, PasswordScore.MAX_FIELD_VALUE, 1));
+    assertEquals(0, cache.getHitCount() + cache.getMissCount());
+  }
+
+  @Test
+  @DisplayName("The char[] variant goes through the cache")
+  void charArrays() {
+    PasswordResultCache cache = new PasswordResultCache(16);
+    PasswordStrength cached = new PasswordStrength(cache);
+    char[] password = "xxpasswords".toCharArray();
+
+    boolean expected = new PasswordStrength().isPasswordPermissible("passwords", 2, 3);
+
+    assertEquals(expected, cached.isPasswordPermissible(password, 2, 9, 2, 3));
+    assertEquals(expected, cached.isPasswordPermissible("passwords", 2, 3));
+    assertEquals(expected, cached.isPasswordPermissible(password, 2, 9, 2, 3));
+    assertEquals(1, cache.getMissCount());
+    assertEquals(2, cache.getHitCount());
+  }
+
+  @Test
+  @DisplayName("Capacity must be positive")
+  void invalidCapacity() {
+    assertThrows(IllegalArgumentException.class, () -> new PasswordResultCache(0));
+  }
+}
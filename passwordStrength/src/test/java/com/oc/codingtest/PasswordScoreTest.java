@@ -0,0 +1,66 @@
+package com.oc.codingtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordScoreTest {
+
+  PasswordStrength ps = new PasswordStrength();
+
+  @ParameterizedTest
+  @DisplayName("Packed score matches the separate calls")
+  @ValueSource(strings = {"", "Melbourne", "passwords", "password1234", "AbCdEf", "a-b_c!"})
+  void matchesSeparateCalls(String password) {
+    long score = ps.score(password);
+
+    assertEquals(ps.getMaxRepetitionCount(password), PasswordScore.maxRepetitionCount(score));
+    assertEquals(ps.getMaxSequenceLen(password), PasswordScore.maxSequenceLen(score));
+    assertEquals(password.length(), PasswordScore.length(score));
+    assertEquals(password.chars().filter(Character::isLetterOrDigit).count(), PasswordScore.countableCount(score));
+    assertEquals(ps.isPasswordPermissible(password, 2, 3), PasswordScore.isPermissible(score, 2, 3));
+  }
+
+  @Test
+  @DisplayName("Fields round-trip and saturate")
+  void packing() {
+    long score = PasswordScore.pack(1, 2, 3, 4);
+    assertEquals(1, PasswordScore.maxRepetitionCount(score));
+    assertEquals(2, PasswordScore.maxSequenceLen(score));
+    assertEquals(3, PasswordScore.length(score));
+    assertEquals(4, PasswordScore.countableCount(score));
+
+    long saturated = PasswordScore.pack(70000, 0, 1 << 20, PasswordScore.MAX_FIELD_VALUE);
+    assertEquals(PasswordScore.MAX_FIELD_VALUE, PasswordScore.maxRepetitionCount(saturated));
+    assertEquals(0, PasswordScore.maxSequenceLen(saturated));
+    assertEquals(PasswordScore.MAX_FIELD_VALUE, PasswordScore.length(saturated));
+    assertEquals(PasswordScore.MAX_FIELD_VALUE, PasswordScore.countableCount(saturated));
+  }
+
+  @Test
+  @DisplayName("A saturated field only passes an unlimited limit")
+  void saturatedPermissible() {
+    long saturated = PasswordScore.pack(70000, 1, 70000, 70000);
+    assertFalse(PasswordScore.isPermissible(saturated, PasswordScore.MAX_FIELD_VALUE, 5));
+    assertFalse(PasswordScore.isPermissible(saturated, 69999, 5));
+    assertTrue(PasswordScore.isPermissible(saturated, Integer.MAX_VALUE, 5));
+    assertTrue(PasswordScore.isPermissible(PasswordScore.pack(PasswordScore.MAX_FIELD_VALUE - 1, 1, 0, 0),
+        PasswordScore.MAX_FIELD_VALUE - 1, 1));
+  }
+
+  @Test
+  @DisplayName("Batch packed scores match single scores")
+  void batch() {
+    List<String> passwords = List.of("Melbourne", "passwords", "password1234");
+    long[] scores = ps.scoreAllPacked(passwords);
+
+    for (int i = 0; i < passwords.size(); i++) {
+      assertEquals(ps.score(passwords.get(i)), scores[i]);
+    }
+  }
+}
@@ -0,0 +1,77 @@
+package com.oc.codingtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordStreamScorerTest {
+
+  PasswordStrength ps = new PasswordStrength();
+  PasswordStreamScorer scorer = new PasswordStreamScorer(2, 3);
+
+  private List<String> collect(String input, PasswordStreamScorer.LineScoreConsumer consumer) throws IOException {
+    List<String> lines = new ArrayList<>();
+    long count = scorer.score(new StringReader(input), (lineNumber, repetitions, sequenceLen, permissible) -> {
+      lines.add(lineNumber + ":" + repetitions + ":" + sequenceLen + ":" + permissible);
+      consumer.accept(lineNumber, repetitions, sequenceLen, permissible);
+    });
+    assertEquals(lines.size(), count);
+    return lines;
+  }
+
+  @Test
+  @DisplayName("Each line is scored like a single password")
+  void scoresEachLine() throws IOException {
+    String[] passwords = {"Melbourne", "passwords", "password1234", "", "AbCdEf"};
+
+    collect(String.join("\n", passwords), (lineNumber, repetitions, sequenceLen, permissible) -> {
+      String password = passwords[(int) lineNumber - 1];
+      assertEquals(ps.getMaxRepetitionCount(password), repetitions);
+      assertEquals(ps.getMaxSequenceLen(password), sequenceLen);
+      assertEquals(ps.isPasswordPermissible(password, 2, 3), permissible);
+    });
+  }
+
+  @Test
+  @DisplayName("Handles CRLF, lone CR and a trailing newline")
+  void lineTerminators() throws IOException {
+    List<String> lines = collect("abc\r\naa\rab\n", (lineNumber, repetitions, sequenceLen, permissible) -> {});
+
+    assertEquals(List.of("1:1:3:true", "2:3:2:false"), lines);
+  }
+
+  @Test
+  @DisplayName("A lone CR at the end of the input is part of the last line")
+  void trailingCarriageReturn() throws IOException {
+    assertEquals(List.of("1:3:1:false"), collect("a\r\r\r", (lineNumber, repetitions, sequenceLen, permissible) -> {}));
+    assertEquals(List.of("1:1:3:true", "2:1:0:true"),
+        collect("abc\r\n\r", (lineNumber, repetitions, sequenceLen, permissible) -> {}));
+  }
+
+  @Test
+  @DisplayName("Decodes UTF-8 byte streams")
+  void utf8Stream() throws IOException {
+    byte[] bytes = "\u00e9\u00e9\u00e9\nxyz".getBytes(StandardCharsets.UTF_8);
+    List<String> lines = new ArrayList<>();
+
+    scorer.score(new ByteArrayInputStream(bytes), (lineNumber, repetitions, sequenceLen, permissible) ->
+        lines.add(lineNumber + ":" + repetitions + ":" + sequenceLen + ":" + permissible));
+
+    assertEquals(List.of("1:3:1:false", "2:1:3:true"), lines);
+  }
+
+  @Test
+  @DisplayName("Negative limits are rejected")
+  void negativeLimits() {
+    assertThrows(IllegalArgumentException.class, () -> new PasswordStreamScorer(-1, 3));
+    assertThrows(IllegalArgumentException.class, () -> new PasswordStreamScorer(3, -1));
+  }
+}
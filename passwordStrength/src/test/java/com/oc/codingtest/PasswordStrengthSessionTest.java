@@ -0,0 +1,111 @@
+package com.oc.codingtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordStrengthSessionTest {
+
+  PasswordStrength ps = new PasswordStrength();
+  PasswordStrengthSession session = new PasswordStrengthSession();
+
+  @Test
+  @DisplayName("Typing a password gives the same scores as scoring it whole")
+  void typing() {
+    String password = "passwordABCD123";
+    for (int i = 0; i < password.length(); i++) {
+      session.append(password.charAt(i));
+    }
+
+    assertEquals(password.length(), session.length());
+    assertEquals(ps.getMaxRepetitionCount(password), session.getMaxRepetitionCount());
+    assertEquals(ps.getMaxSequenceLen(password), session.getMaxSequenceLen());
+    assertEquals(ps.isPasswordPermissible(password, 3, 3), session.isPermissible(3, 3));
+  }
+
+  @Test
+  @DisplayName("Random appends and backspaces track the current password")
+  void appendAndDelete() {
+    Random random = new Random(5);
+    String alphabet = "abcdeABCDE0123-\u4e00\u4e01";
+    StringBuilder expected = new StringBuilder();
+
+    for (int n = 0; n < 5000; n++) {
+      if (expected.length() > 0 && random.nextInt(3) == 0) {
+        session.deleteLast();
+        expected.setLength(expected.length() - 1);
+      } else {
+        char c = alphabet.charAt(random.nextInt(alphabet.length()));
+        session.append(c);
+        expected.append(c);
+      }
+
+      String password = expected.toString();
+      assertEquals(ps.getMaxRepetitionCount(password), session.getMaxRepetitionCount(), password);
+      assertEquals(ps.getMaxSequenceLen(password), session.getMaxSequenceLen(), password);
+    }
+  }
+
+  @Test
+  @DisplayName("Backspace on an empty session and clear are safe")
+  void emptyAndClear() {
+    session.deleteLast();
+    assertEquals(0, session.length());
+
+    session.append('a');
+    session.append('a');
+    session.clear();
+
+    assertEquals(0, session.length());
+    assertEquals(0, session.getMaxRepetitionCount());
+    assertEquals(0, session.getMaxSequenceLen());
+    session.append('a');
+    assertEquals(1, session.getMaxRepetitionCount());
+  }
+
+  @Test
+  @DisplayName("Clearing wipes every trace of the typed chars, including arrays dropped when growing")
+  void clearWipes() throws ReflectiveOperationException {
+    String password = "Secret\u00e9\u4e00password1234";
+    int[] droppedHistory = null;
+    for (int i = 0; i < password.length(); i++) {
+      if (i == 16) {
+        droppedHistory = (int[]) field(session, "previousLastChars");
+      }
+      session.append(password.charAt(i));
+    }
+    assertAllZero(droppedHistory, "history dropped by grow()");
+
+    session.clear();
+
+    for (String name : new String[]{"previousLastChars", "previousDirections", "previousCurrentLens",
+        "previousMaxLens", "countFrequencies"}) {
+      assertAllZero((int[]) field(session, name), name);
+    }
+    assertEquals(0, new String((char[]) field(session, "chars")).chars().filter(c -> c != 0).count());
+
+    Object counter = field(session, "repetitionCounter");
+    for (String name : new String[]{"denseCounts", "denseStamps", "sparseKeys", "sparseCounts", "sparseStamps"}) {
+      assertAllZero((int[]) field(counter, name), "repetitionCounter." + name);
+    }
+
+    session.append('a');
+    assertEquals(1, session.getMaxRepetitionCount());
+  }
+
+  private static Object field(Object target, String name) throws ReflectiveOperationException {
+    Field field = target.getClass().getDeclaredField(name);
+    field.setAccessible(true);
+    return field.get(target);
+  }
+
+  private static void assertAllZero(int[] values, String name) {
+    for (int i = 0; i < values.length; i++) {
+      assertEquals(0, values[i], name + "[" + i + "]");
+    }
+  }
+}
@@ -1,12 +1,19 @@
 package com.oc.codingtest;
 
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+import java.util.Random;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -66,4 +73,153 @@ class PasswordStrengthTest {
     assertEquals(expectedResult, ps.getMaxSequenceLen(password));
   }
 
+  private static Stream<Arguments> permissibleArgProvider() {
+    return Stream.of(
+      Arguments.of("Melbourne", 2, 2, true),
+      Arguments.of("passwords", 2, 3, false),
+      Arguments.of("password123", 2, 3, true),
+      Arguments.of("password1234", 2, 3, false),
+      Arguments.of("AbCdEf", 1, 6, true),
+      Arguments.of("", 0, 0, true)
+    );
+  }
+
+  @ParameterizedTest
+  @DisplayName("Password permissible tests")
+  @MethodSource("com.oc.codingtest.PasswordStrengthTest#permissibleArgProvider")
+  void checkingPermissible(String password, int maxRepetitions, int maxSequenceLen, boolean expectedResult) {
+    assertEquals(expectedResult, ps.isPasswordPermissible(password, maxRepetitions, maxSequenceLen));
+  }
+
+  @ParameterizedTest
+  @DisplayName("UTF-8 entry points match String scoring")
+  @MethodSource("com.oc.codingtest.PasswordStrengthTest#utf8ArgProvider")
+  void checkingUtf8(String password) {
+    byte[] encoded = password.getBytes(StandardCharsets.UTF_8);
+    // Surround the password with other bytes to check the offset and length are honoured
+    byte[] padded = new byte[encoded.length + 4];
+    padded[0] = 'a';
+    padded[1] = 'b';
+    System.arraycopy(encoded, 0, padded, 2, encoded.length);
+    padded[padded.length - 2] = 'c';
+    padded[padded.length - 1] = 'd';
+    ByteBuffer direct = ByteBuffer.allocateDirect(encoded.length).put(encoded).flip();
+
+    int repetitions = ps.getMaxRepetitionCount(password);
+    int sequenceLen = ps.getMaxSequenceLen(password);
+
+    assertEquals(repetitions, ps.getMaxRepetitionCount(padded, 2, encoded.length));
+    assertEquals(repetitions, ps.getMaxRepetitionCount(ByteBuffer.wrap(padded, 2, encoded.length)));
+    assertEquals(repetitions, ps.getMaxRepetitionCount(direct));
+    assertEquals(sequenceLen, ps.getMaxSequenceLen(padded, 2, encoded.length));
+    assertEquals(sequenceLen, ps.getMaxSequenceLen(ByteBuffer.wrap(padded, 2, encoded.length)));
+    assertEquals(sequenceLen, ps.getMaxSequenceLen(direct));
+    assertEquals(ps.isPasswordPermissible(password, 2, 3), ps.isPasswordPermissible(padded, 2, encoded.length, 2, 3));
+    assertEquals(ps.isPasswordPermissible(password, 2, 3), ps.isPasswordPermissible(direct, 2, 3));
+    assertEquals(0, direct.position());
+  }
+
+  @Test
+  @DisplayName("Malformed UTF-8 scores like the String the JDK decodes it to")
+  void checkingMalformedUtf8() {
+    byte[] truncated = {(byte) 0xe2, (byte) 0x82, 'A', (byte) 0xe2, (byte) 0x82, 'B'};
+    assertEquals(2, ps.getMaxRepetitionCount(truncated, 0, truncated.length));
+
+    // Biased towards lead and continuation bytes around the edges of the valid ranges
+    int[] interesting = {'a', 'b', 0x80, 0x8f, 0x90, 0x9f, 0xa0, 0xbf, 0xc0, 0xc1, 0xc2, 0xdf, 0xe0, 0xe1, 0xed,
+        0xef, 0xf0, 0xf1, 0xf4, 0xf5, 0xff};
+    Random random = new Random(42);
+    for (int n = 0; n < 20_000; n++) {
+      byte[] bytes = new byte[random.nextInt(12)];
+      for (int i = 0; i < bytes.length; i++) {
+        bytes[i] = (byte) interesting[random.nextInt(interesting.length)];
+      }
+      String decoded = new String(bytes, StandardCharsets.UTF_8);
+      ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+      String hex = HexFormat.of().formatHex(bytes);
+
+      assertEquals(ps.getMaxRepetitionCount(decoded), ps.getMaxRepetitionCount(bytes, 0, bytes.length), hex);
+      assertEquals(ps.getMaxRepetitionCount(decoded), ps.getMaxRepetitionCount(direct), hex);
+      assertEquals(ps.getMaxSequenceLen(decoded), ps.getMaxSequenceLen(bytes, 0, bytes.length), hex);
+      assertEquals(ps.getMaxSequenceLen(decoded), ps.getMaxSequenceLen(direct), hex);
+    }
+  }
+
+  @ParameterizedTest
+  @DisplayName("char[] and CharSequence entry points match String scoring")
+  @MethodSource("com.oc.codingtest.PasswordStrengthTest#charsArgProvider")
+  void checkingChars(String password) {
+    char[] padded = ("xy" + password + "z").toCharArray();
+    CharSequence builder = new StringBuilder(password);
+    CharSequence buffer = CharBuffer.wrap(padded, 2, password.length());
+
+    int repetitions = ps.getMaxRepetitionCount(password);
+    int sequenceLen = ps.getMaxSequenceLen(password);
+    boolean permissible = ps.isPasswordPermissible(password, 2, 3);
+
+    assertEquals(repetitions, ps.getMaxRepetitionCount(builder));
+    assertEquals(repetitions, ps.getMaxRepetitionCount(buffer));
+    assertEquals(repetitions, ps.getMaxRepetitionCount(padded, 2, password.length()));
+    assertEquals(sequenceLen, ps.getMaxSequenceLen(builder));
+    assertEquals(sequenceLen, ps.getMaxSequenceLen(buffer));
+    assertEquals(sequenceLen, ps.getMaxSequenceLen(padded, 2, password.length()));
+    assertEquals(permissible, ps.isPasswordPermissible(builder, 2, 3));
+    assertEquals(permissible, ps.isPasswordPermissible(buffer, 2, 3));
+    assertEquals(permissible, ps.isPasswordPermissible(padded, 2, password.length(), 2, 3));
+  }
+
+  private static Stream<String> charsArgProvider() {
+    return Stream.of(
+      "Melbourne",
+      "password1234",
+      "AbCdEf",
+      "",
+      // Long enough for the sequence kernel
+      "qwerty-abcdefghij-".repeat(PasswordStrength.KERNEL_SEQUENCE_THRESHOLD / 10)
+    );
+  }
+
+  private static Stream<String> utf8ArgProvider() {
+    return Stream.of(
+      "password123",
+      "\u00e9\u00e8\u00ea\u00eb",
+      "\u0430\u0431\u0432\u0433",
+      "\u4e00\u4e01\u4e02",
+      "\uD83D\uDE00\uD83D\uDE01\uD83D\uDE02",
+      ""
+    );
+  }
+
+  @Test
+  @DisplayName("Batch scoring matches single password scoring")
+  void checkingBatch() {
+    // Big enough to take the parallel path
+    String[] passwords = IntStream.range(0, PasswordStrength.PARALLEL_BATCH_THRESHOLD * 2)
+        .mapToObj(i -> "pass" + i + "word" + Integer.toHexString(i * 31))
+        .toArray(String[]::new);
+
+    BatchResult result = ps.scoreAll(passwords, 3, 3);
+
+    assertEquals(passwords.length, result.size());
+    for (int i = 0; i < passwords.length; i++) {
+      assertEquals(ps.getMaxRepetitionCount(passwords[i]), result.getMaxRepetitionCount(i));
+      assertEquals(ps.getMaxSequenceLen(passwords[i]), result.getMaxSequenceLen(i));
+      assertEquals(ps.isPasswordPermissible(passwords[i], 3, 3), result.isPermissible(i));
+    }
+  }
+
+  @Test
+  @DisplayName("An empty password exceeds a negative limit, as a scored one would")
+  void emptyPasswordNegativeLimits() {
+    char[] chars = new char[0];
+    byte[] bytes = new byte[0];
+    assertFalse(ps.isPasswordPermissible("", -1, 0));
+    assertFalse(ps.isPasswordPermissible("", 0, -1));
+    assertFalse(ps.isPasswordPermissible(chars, 0, 0, -1, 0));
+    assertFalse(ps.isPasswordPermissible(bytes, 0, 0, 0, -1));
+    assertFalse(ps.isPasswordPermissible(ByteBuffer.wrap(bytes), -1, 0));
+    assertFalse(ps.isPasswordPermissible(ByteBuffer.allocateDirect(0), 0, -1));
+    assertTrue(ps.isPasswordPermissible("", 0, 0));
+  }
+
 }
\ No newline at end of file
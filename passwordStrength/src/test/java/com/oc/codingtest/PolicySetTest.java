@@ -0,0 +1,49 @@
+package com.oc.codingtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PolicySetTest {
+
+  private static final List<PasswordPolicy> TIERS = new ArrayList<>();
+
+  static {
+    for (int maxRepetitions = 0; maxRepetitions <= 7; maxRepetitions++) {
+      for (int maxSequenceLen = 0; maxSequenceLen <= 7; maxSequenceLen += 2) {
+        TIERS.add(new PasswordPolicy(maxRepetitions, maxSequenceLen));
+      }
+    }
+  }
+
+  PolicySet policySet = new PolicySet(TIERS);
+
+  @ParameterizedTest
+  @DisplayName("Each bit matches checking that policy on its own")
+  @ValueSource(strings = {"", "a", "Melbourne", "passwords", "password1234", "AbCdEf", "aaaaaaaaaa", "abcdefghij"})
+  void matchesEachPolicy(String password) {
+    long mask = policySet.evaluate(password);
+
+    for (int i = 0; i < policySet.size(); i++) {
+      assertEquals(policySet.get(i).check(password), (mask & (1L << i)) != 0, password + " " + policySet.get(i));
+    }
+  }
+
+  @Test
+  @DisplayName("Policy count is limited to the mask width")
+  void tooManyPolicies() {
+    List<PasswordPolicy> policies = new ArrayList<>();
+    for (int i = 0; i <= PolicySet.MAX_POLICIES; i++) {
+      policies.add(new PasswordPolicy(i, i));
+    }
+
+    assertThrows(IllegalArgumentException.class, () -> new PolicySet(policies));
+    assertThrows(IllegalArgumentException.class, () -> new PolicySet());
+  }
+}
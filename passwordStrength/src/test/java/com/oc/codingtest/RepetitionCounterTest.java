@@ -0,0 +1,63 @@
+package com.oc.codingtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RepetitionCounterTest {
+
+  RepetitionCounter counter = new RepetitionCounter();
+
+  @Test
+  @DisplayName("Counts Latin-1, BMP and supplementary values")
+  void countsAcrossRanges() {
+    assertEquals(1, counter.add('a'));
+    assertEquals(1, counter.add('\u4e00'));
+    assertEquals(1, counter.add(0x1F600));
+    assertEquals(2, counter.add('\u4e00'));
+    assertEquals(2, counter.add(0x1F600));
+    assertEquals(3, counter.add(0x1F600));
+    assertEquals(3, counter.getMax());
+  }
+
+  @Test
+  @DisplayName("Sparse table keeps counts when it grows")
+  void sparseGrowth() {
+    for (int round = 1; round <= 3; round++) {
+      for (int c = 0x4e00; c < 0x4e00 + 1000; c++) {
+        assertEquals(round, counter.add(c));
+      }
+    }
+    assertEquals(3, counter.getMax());
+  }
+
+  @Test
+  @DisplayName("Clear forgets all previous counts")
+  void clearResets() {
+    counter.add('a');
+    counter.add('a');
+    counter.add('\u4e00');
+    counter.clear();
+
+    assertEquals(0, counter.getMax());
+    assertEquals(1, counter.add('a'));
+    assertEquals(1, counter.add('\u4e00'));
+  }
+
+  @Test
+  @DisplayName("Parallel count of a long input matches the sequential count")
+  void parallelCount() {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; sb.length() < PasswordStrength.PARALLEL_REPETITION_THRESHOLD + 12345; i++) {
+      sb.append((char) (i * 7 % 3001));
+    }
+    String s = sb.toString();
+    for (int i = 0; i < s.length(); i++) {
+      counter.add(s.charAt(i));
+    }
+
+    assertEquals(counter.getMax(), ParallelRepetitionCounter.count(s));
+    assertEquals(counter.getMax(), new PasswordStrength().getMaxRepetitionCount(s));
+  }
+}
@@ -0,0 +1,127 @@
+package com.oc.codingtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RuleEngineTest {
+
+  @ParameterizedTest
+  @DisplayName("Built-in repetition and sequence rules match PasswordPolicy")
+  @ValueSource(strings = {"", "a", "Melbourne", "passwords", "password1234", "AbCdEf", "aaaaaaaaaa", "a\uD83D\uDE00b"})
+  void matchesPolicy(String password) {
+    for (int maxRepetitions = 0; maxRepetitions <= 5; maxRepetitions++) {
+      for (int maxSequenceLen = 0; maxSequenceLen <= 5; maxSequenceLen++) {
+        PasswordPolicy policy = new PasswordPolicy(maxRepetitions, maxSequenceLen);
+        RuleEngine engine = RuleEngine.of(policy);
+
+        assertEquals(policy.check(password), engine.test(password), password + " " + policy);
+        assertEquals(policy.check(password), engine.failures(password) == 0L, password + " " + policy);
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("Failures mask reports each failed rule")
+  void failures() {
+    RuleEngine engine = new RuleEngine(
+        new MinLengthRule(8),
+        new CharClassRule(CharClassRule.CharClass.UPPER, 1),
+        new CharClassRule(CharClassRule.CharClass.DIGIT, 2),
+        new CharClassRule(CharClassRule.CharClass.SYMBOL, 1),
+        new MaxRunRule(2));
+
+    assertEquals(0b00000L, engine.failures("Secr3t!42"));
+    assertEquals(0b00001L, engine.failures("S3cr!7"));
+    assertEquals(0b00010L, engine.failures("secr3t!42"));
+    assertEquals(0b00100L, engine.failures("Secret!4x"));
+    assertEquals(0b01000L, engine.failures("Secr3t042"));
+    assertEquals(0b10000L, engine.failures("Secr3t!4222"));
+    assertEquals(0b11111L, engine.failures("aaa"));
+
+    assertTrue(engine.test("Secr3t!42"));
+    assertFalse(engine.test("Secr3t!4222"));
+  }
+
+  @Test
+  @DisplayName("A surrogate pair counts as one symbol")
+  void surrogateSymbol() {
+    RuleEngine engine = new RuleEngine(new CharClassRule(CharClassRule.CharClass.SYMBOL, 2));
+
+    assertFalse(engine.test("a\uD83D\uDE00b"));
+    assertTrue(engine.test("a\uD83D\uDE00b!"));
+  }
+
+  @Test
+  @DisplayName("Custom rules are fed every char")
+  void customRule() {
+    PasswordRule<int[]> noSpaces = new PasswordRule<>() {
+      @Override
+      public int[] newState() {
+        return new int[1];
+      }
+
+      @Override
+      public void reset(int[] state) {
+        state[0] = 0;
+      }
+
+      @Override
+      public boolean accept(int[] state, char c) {
+        state[0] += c == ' ' ? 1 : 0;
+        return state[0] == 0;
+      }
+
+      @Override
+      public boolean finish(int[] state) {
+        return state[0] == 0;
+      }
+    };
+    RuleEngine engine = new RuleEngine(noSpaces, new MinLengthRule(3));
+
+    assertTrue(engine.test("abc"));
+    assertFalse(engine.test("a bc"));
+    assertEquals(0b11L, engine.failures(" "));
+  }
+
+  @Test
+  @DisplayName("Exceptions thrown by rules reach the caller unchanged")
+  void ruleException() {
+    PasswordRule<Object> failing = new PasswordRule<>() {
+      @Override
+      public Object newState() {
+        return new Object();
+      }
+
+      @Override
+      public void reset(Object state) {
+      }
+
+      @Override
+      public boolean accept(Object state, char c) {
+        throw new UnsupportedOperationException(String.valueOf(c));
+      }
+
+      @Override
+      public boolean finish(Object state) {
+        return true;
+      }
+    };
+    RuleEngine engine = new RuleEngine(new MinLengthRule(1), failing);
+
+    assertEquals("x", assertThrows(UnsupportedOperationException.class, () -> engine.test("x")).getMessage());
+    assertThrows(UnsupportedOperationException.class, () -> engine.failures("x"));
+    assertEquals(0b01L, engine.failures(""));
+  }
+
+  @Test
+  @DisplayName("Invalid rules and rule counts are rejected")
+  void invalid() {
+    assertThrows(IllegalArgumentException.class, () -> new MaxRunRule(-1));
+    assertThrows(IllegalArgumentException.class, () -> new CharClassRule(null, 1));
+    assertThrows(IllegalArgumentException.class, RuleEngine::new);
+  }
+}
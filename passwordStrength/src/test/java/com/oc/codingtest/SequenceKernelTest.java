@@ -0,0 +1,90 @@
+package com.oc.codingtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SequenceKernelTest {
+
+  private static Stream<Arguments> kernelProvider() {
+    return Stream.of(
+      Arguments.of(new ScalarSequenceKernel()),
+      // The SIMD kernel when the test JVM has jdk.incubator.vector
+      Arguments.of(SequenceKernel.best())
+    );
+  }
+
+  private static int[] ordinals(String s) {
+    return s.chars().map(c -> SequenceState.isCountable(c) ? c : SequenceState.NO_CHAR).toArray();
+  }
+
+  private static int sequential(String s) {
+    SequenceState state = new SequenceState();
+    s.chars().forEach(state::nextChar);
+    return state.maxLen;
+  }
+
+  @ParameterizedTest
+  @DisplayName("Kernel matches SequenceState on short inputs")
+  @MethodSource("com.oc.codingtest.SequenceKernelTest#kernelProvider")
+  void shortInputs(SequenceKernel kernel) {
+    String[] inputs = {"", "a", "-", "abcdef", "fedcba", "23454321", "01234*567:", "/012345678", "aa", "a-b"};
+
+    for (String s : inputs) {
+      assertEquals(sequential(s), kernel.maxSequenceLen(ordinals(s), s.length()), s);
+    }
+  }
+
+  @ParameterizedTest
+  @DisplayName("Kernel matches SequenceState on random long inputs")
+  @MethodSource("com.oc.codingtest.SequenceKernelTest#kernelProvider")
+  void randomInputs(SequenceKernel kernel) {
+    Random random = new Random(3);
+    String alphabet = "abcdefghij0123-";
+
+    for (int n = 0; n < 500; n++) {
+      StringBuilder sb = new StringBuilder();
+      int length = random.nextInt(3000);
+      while (sb.length() < length) {
+        // Mix random chars with runs long enough to span several vector lanes
+        if (random.nextInt(10) == 0) {
+          int start = random.nextInt(200);
+          int run = random.nextInt(40);
+          boolean descending = random.nextBoolean();
+          for (int i = 0; i < run; i++) {
+            sb.append((char) ('a' + (descending ? start + run - i : start + i)));
+          }
+        } else {
+          sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+      }
+      String s = sb.toString();
+
+      assertEquals(sequential(s), kernel.maxSequenceLen(ordinals(s), s.length()), s);
+    }
+  }
+
+  @ParameterizedTest
+  @DisplayName("The scanner's scratch array doesn't keep the password")
+  @MethodSource("com.oc.codingtest.SequenceKernelTest#kernelProvider")
+  void scratchIsCleared(SequenceKernel kernel) throws ReflectiveOperationException {
+    String password = "Correct-Horse-Battery-Staple-".repeat(PasswordStrength.KERNEL_SEQUENCE_THRESHOLD / 16);
+    PasswordScanner scanner = new PasswordScanner();
+
+    assertEquals(sequential(password), scanner.kernelSequenceLen(password, kernel));
+
+    Field field = PasswordScanner.class.getDeclaredField("ordinals");
+    field.setAccessible(true);
+    int[] scratch = (int[]) field.get(scanner);
+    assertTrue(scratch.length >= password.length());
+    assertEquals(0, Arrays.stream(scratch).filter(ordinal -> ordinal != 0).count());
+  }
+}
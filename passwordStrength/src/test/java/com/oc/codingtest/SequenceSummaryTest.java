@@ -0,0 +1,94 @@
+package com.oc.codingtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SequenceSummaryTest {
+
+  private static int sequential(String s) {
+    SequenceState state = new SequenceState();
+    s.chars().forEach(state::nextChar);
+    return state.maxLen;
+  }
+
+  private static SequenceSummary summarise(String s, int from, int to) {
+    SequenceSummary summary = new SequenceSummary();
+    for (int i = from; i < to; i++) {
+      summary.accept(CharFold.fold(s.charAt(i)));
+    }
+    return summary;
+  }
+
+  @ParameterizedTest
+  @DisplayName("Every two-way split combines to the sequential answer")
+  @ValueSource(strings = {"abcdef", "23454321", "01234*567:", "abab", "aabbcc", "cba-abc", "zyxwxyz", "a", ""})
+  void everySplit(String s) {
+    for (int split = 0; split <= s.length(); split++) {
+      SequenceSummary left = summarise(s, 0, split);
+      left.combine(summarise(s, split, s.length()));
+
+      assertEquals(sequential(s), left.getMaxLen(), s + " split at " + split);
+    }
+  }
+
+  @Test
+  @DisplayName("Random multi-way splits combine to the sequential answer in any grouping")
+  void randomSplits() {
+    Random random = new Random(7);
+    String alphabet = "abcdcba0123210-";
+
+    for (int n = 0; n < 2000; n++) {
+      StringBuilder sb = new StringBuilder();
+      int length = random.nextInt(40);
+      for (int i = 0; i < length; i++) {
+        sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+      }
+      String s = sb.toString();
+
+      int a = random.nextInt(length + 1);
+      int b = a + random.nextInt(length - a + 1);
+      SequenceSummary first = summarise(s, 0, a);
+      SequenceSummary second = summarise(s, a, b);
+      SequenceSummary third = summarise(s, b, length);
+
+      // (first + second) + third
+      SequenceSummary leftGrouped = summarise(s, 0, a);
+      leftGrouped.combine(second);
+      leftGrouped.combine(third);
+
+      // first + (second + third)
+      SequenceSummary rightGrouped = summarise(s, a, b);
+      rightGrouped.combine(third);
+      first.combine(rightGrouped);
+
+      assertEquals(sequential(s), leftGrouped.getMaxLen(), s);
+      assertEquals(sequential(s), first.getMaxLen(), s);
+    }
+  }
+
+  @Test
+  @DisplayName("Long passwords scored in parallel match the sequential answer")
+  void parallelStream() {
+    StringBuilder sb = new StringBuilder();
+    Random random = new Random(11);
+    while (sb.length() < PasswordStrength.PARALLEL_SEQUENCE_THRESHOLD * 4) {
+      char start = (char) ('a' + random.nextInt(20));
+      int run = random.nextInt(6);
+      for (int i = 0; i < run; i++) {
+        sb.append((char) (start + i));
+      }
+      sb.append(random.nextInt(8) == 0 ? "0123456789" : "");
+    }
+    // A long run in the middle that any split is likely to cut
+    sb.insert(sb.length() / 2, "abcdefghijklmnopqrstuvwxyz");
+    String s = sb.toString();
+
+    assertEquals(sequential(s), new PasswordStrength().getMaxSequenceLen(s));
+  }
+}
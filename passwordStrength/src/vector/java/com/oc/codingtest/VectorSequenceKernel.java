@@ -0,0 +1,99 @@
+package com.oc.codingtest;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD {@link SequenceKernel} built on jdk.incubator.vector.
+ * <p>
+ * The first pass compares each lane with its right neighbour and classifies the step between them as +1, -1 or 0
+ * (a break, including any step touching a non-countable char). The steps are written over the ordinals in place.
+ * The second pass finds the longest run of identical non-zero steps, skipping whole vectors at a time while they
+ * extend the current run. A run of k steps is a sequence of k + 1 chars.
+ * <p>
+ * This class is compiled separately with --add-modules jdk.incubator.vector and only loaded through
+ * {@link SequenceKernel#best()}, which falls back to {@link ScalarSequenceKernel} when the module is missing.
+ */
+final class VectorSequenceKernel implements SequenceKernel {
+
+  private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+  @Override
+  public int maxSequenceLen(int[] ordinals, int length) {
+    if (length == 0) {
+      return 0;
+    }
+
+    boolean anyCountable = ordinals[length - 1] != SequenceState.NO_CHAR;
+    int stepCount = length - 1;
+    int lanes = SPECIES.length();
+
+    // Pass 1: classify the step between ordinals[i] and ordinals[i + 1] and store it in ordinals[i]
+    IntVector zero = IntVector.zero(SPECIES);
+    int i = 0;
+    for (; i + lanes <= stepCount; i += lanes) {
+      IntVector left = IntVector.fromArray(SPECIES, ordinals, i);
+      IntVector right = IntVector.fromArray(SPECIES, ordinals, i + 1);
+
+      VectorMask<Integer> leftCountable = left.compare(VectorOperators.GE, 0);
+      VectorMask<Integer> bothCountable = leftCountable.and(right.compare(VectorOperators.GE, 0));
+      anyCountable |= leftCountable.anyTrue();
+
+      IntVector distance = right.sub(left);
+      IntVector steps = zero
+          .blend(SequenceState.ASC, distance.compare(VectorOperators.EQ, SequenceState.ASC).and(bothCountable))
+          .blend(SequenceState.DESC, distance.compare(VectorOperators.EQ, SequenceState.DESC).and(bothCountable));
+      steps.intoArray(ordinals, i);
+    }
+    for (; i < stepCount; i++) {
+      int left = ordinals[i];
+      int right = ordinals[i + 1];
+      anyCountable |= left != SequenceState.NO_CHAR;
+
+      int distance = right - left;
+      boolean bothCountable = left != SequenceState.NO_CHAR && right != SequenceState.NO_CHAR;
+      ordinals[i] = bothCountable && (distance == SequenceState.ASC || distance == SequenceState.DESC)
+          ? distance
+          : SequenceState.NONE;
+    }
+
+    // Pass 2: longest run of identical non-zero steps
+    int maxRun = 0;
+    int run = 0;
+    int direction = SequenceState.NONE;
+    i = 0;
+    while (i < stepCount) {
+      if (i + lanes <= stepCount
+          && IntVector.fromArray(SPECIES, ordinals, i).compare(VectorOperators.EQ, direction).allTrue()) {
+        // The whole vector continues the current run (or the current gap, when the direction is NONE)
+        if (direction != SequenceState.NONE) {
+          run += lanes;
+          maxRun = Integer.max(maxRun, run);
+        }
+        i += lanes;
+        continue;
+      }
+
+      int end = Integer.min(i + lanes, stepCount);
+      for (; i < end; i++) {
+        int step = ordinals[i];
+        if (step == SequenceState.NONE) {
+          run = 0;
+        } else if (step == direction) {
+          run += 1;
+        } else {
+          run = 1;
+        }
+        direction = step;
+        maxRun = Integer.max(maxRun, run);
+      }
+    }
+
+    if (maxRun > 0) {
+      return maxRun + 1;
+    }
+    return anyCountable ? 1 : 0;
+  }
+}